@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable, expand, map, reduce } from 'rxjs';
 import { environment } from '../../../environments/environment';
 
 export type TransactionType = 'RECEIVED' | 'GIVEN' | 'EXPENSE' | 'INCOME' | 'TRANSFER';
@@ -18,6 +18,18 @@ export interface TransactionResponse {
   createdAt: string;
 }
 
+export interface TransactionListParams {
+  wallet?: WalletType;
+  type?: TransactionType;
+  from?: string;
+  to?: string;
+}
+
+export interface TransactionPage {
+  items: TransactionResponse[];
+  nextCursor: string | null;
+}
+
 export interface CreateTransactionRequest {
   personId?: number | null;
   fromWalletId?: number | null;
@@ -30,17 +42,30 @@ export interface CreateTransactionRequest {
 
 @Injectable({ providedIn: 'root' })
 export class TransactionService {
+  private static readonly PAGE_SIZE = 500;
   private api = `${environment.apiUrl}/api/transactions`;
 
   constructor(private http: HttpClient) {}
 
-  list(params?: { wallet?: WalletType; type?: TransactionType; from?: string; to?: string }): Observable<TransactionResponse[]> {
-    let httpParams = new HttpParams();
+  /** Every matching transaction, newest first: follows X-Next-Cursor until the last page. */
+  list(params?: TransactionListParams): Observable<TransactionResponse[]> {
+    return this.listPage(params).pipe(
+      expand((page) => (page.nextCursor ? this.listPage(params, page.nextCursor) : EMPTY)),
+      reduce((all, page) => all.concat(page.items), [] as TransactionResponse[])
+    );
+  }
+
+  /** One page of at most `limit` transactions (server maximum 500). */
+  listPage(params?: TransactionListParams, cursor?: string, limit = TransactionService.PAGE_SIZE): Observable<TransactionPage> {
+    let httpParams = new HttpParams().set('limit', limit);
     if (params?.wallet) httpParams = httpParams.set('wallet', params.wallet);
     if (params?.type) httpParams = httpParams.set('type', params.type);
     if (params?.from) httpParams = httpParams.set('from', params.from);
     if (params?.to) httpParams = httpParams.set('to', params.to);
-    return this.http.get<TransactionResponse[]>(this.api, { params: httpParams });
+    if (cursor) httpParams = httpParams.set('cursor', cursor);
+    return this.http
+      .get<TransactionResponse[]>(this.api, { params: httpParams, observe: 'response' })
+      .pipe(map((res) => ({ items: res.body ?? [], nextCursor: res.headers.get('X-Next-Cursor') })));
   }
 
   create(body: CreateTransactionRequest): Observable<TransactionResponse> {
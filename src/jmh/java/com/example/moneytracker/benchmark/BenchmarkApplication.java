@@ -0,0 +1,41 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.MoneyTrackerApplication;
+import com.example.moneytracker.support.TestDatabase;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The full application, started once per JMH fork on the {@link TestDatabase} PostgreSQL
+ * ({@code TEST_DATABASE_URL}, otherwise a throwaway container) and migrated by Flyway like production.
+ * <p>
+ * The API rate limit is raised out of reach so benchmarks measure the filter, not its 429s; logging is
+ * cut to warnings so per-transaction INFO lines do not end up in the measurement.
+ */
+final class BenchmarkApplication {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkApplication() {
+    }
+
+    static synchronized ConfigurableApplicationContext context() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(MoneyTrackerApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--spring.datasource.url=" + TestDatabase.url(),
+                            "--spring.datasource.username=" + TestDatabase.username(),
+                            "--spring.datasource.password=" + TestDatabase.password(),
+                            "--server.port=0",
+                            "--management.server.port=0",
+                            "--logging.level.root=WARN",
+                            "--security.rate-limit.api-requests-per-minute=1000000000");
+        }
+        return context;
+    }
+
+    static <T> T bean(Class<T> type) {
+        return context().getBean(type);
+    }
+}
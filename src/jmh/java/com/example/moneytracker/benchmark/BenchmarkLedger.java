@@ -0,0 +1,79 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.person.PersonService;
+import com.example.moneytracker.person.dto.CreatePersonRequest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.User;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * A fresh account with both wallets, one person and enough cash that no benchmark write is refused for funds.
+ * Signs the account in on the calling thread, which must be the JMH worker thread (a {@code Scope.Thread} setup).
+ *
+ * @param history rows bulk-loaded into the account's ledger, spread one per minute back from now
+ */
+record BenchmarkLedger(User user, Long cash, Long online, Long person) {
+
+    private static final BigDecimal FLOAT = new BigDecimal("1000000000.00");
+
+    static BenchmarkLedger open(int history) {
+        User user = TestUsers.create(BenchmarkApplication.bean(UserRepository.class));
+        TestUsers.signIn(user);
+        WalletService wallets = BenchmarkApplication.bean(WalletService.class);
+        Long cash = wallets.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        Long online = wallets.createWallet(new CreateWalletRequest(WalletType.ONLINE)).id();
+        Long person = BenchmarkApplication.bean(PersonService.class)
+                .createPerson(new CreatePersonRequest("Benchmark", null, null)).id();
+        BenchmarkApplication.bean(TransactionService.class).createTransaction(
+                new CreateTransactionRequest(null, null, cash, FLOAT, TransactionType.INCOME, "Float", null));
+        BenchmarkLedger ledger = new BenchmarkLedger(user, cash, online, person);
+        if (history > 0) {
+            ledger.loadHistory(history);
+        }
+        return ledger;
+    }
+
+    CreateTransactionRequest request(TransactionType type, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        return switch (type) {
+            case INCOME -> new CreateTransactionRequest(null, null, cash, value, type, "Salary", null);
+            case EXPENSE -> new CreateTransactionRequest(null, cash, null, value, type, "Groceries", null);
+            case TRANSFER -> new CreateTransactionRequest(null, cash, online, value, type, "Savings", null);
+            case RECEIVED -> new CreateTransactionRequest(person, null, cash, value, type, "Repayment", null);
+            case GIVEN -> new CreateTransactionRequest(person, cash, null, value, type, "Loan", null);
+        };
+    }
+
+    /**
+     * Inserted with SQL rather than through the service: only the listing benchmarks read these rows, and
+     * they read the transactions table, not balances or rollups.
+     */
+    private void loadHistory(int rows) {
+        JdbcTemplate jdbc = BenchmarkApplication.bean(JdbcTemplate.class);
+        jdbc.update("""
+                insert into transactions (user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+                                          transaction_type, date, created_at, is_reversal)
+                select ?,
+                       case when mod(g, 5) in (3, 4) then ? end,
+                       case when mod(g, 5) in (0, 2, 4) then ? end,
+                       case when mod(g, 5) in (1, 2, 3) then ? end,
+                       10 + mod(g, 1000),
+                       (array ['Groceries', 'Salary', 'Savings', 'Repayment', 'Loan'])[1 + mod(g, 5)],
+                       (array ['EXPENSE', 'INCOME', 'TRANSFER', 'RECEIVED', 'GIVEN'])[1 + mod(g, 5)],
+                       now() - make_interval(mins => g),
+                       now() - make_interval(mins => g),
+                       false
+                from generate_series(1, ?) g
+                """, user.getId(), person, cash, online, rows);
+        jdbc.execute("analyze transactions");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.security.JwtService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole Spring Security chain (CORS, JWT authentication, rate limiting, authorization) for an
+ * authenticated {@code GET /api/wallets}, stopping before the controller. {@code verifiedToken} repeats one
+ * token, as a client does between logins; {@code newToken} presents a token never seen before, so its
+ * signature is verified on every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtFilterChainBenchmark {
+
+    private Filter securityFilterChain;
+    private JwtService jwtService;
+    private String token;
+    private long nextUserId = 1;
+    private String newToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        securityFilterChain = BenchmarkApplication.context().getBean("springSecurityFilterChain", Filter.class);
+        jwtService = BenchmarkApplication.bean(JwtService.class);
+        token = jwtService.generateToken(0L, "benchmark@test.local");
+    }
+
+    @Setup(Level.Invocation)
+    public void signNewToken() {
+        long userId = nextUserId++;
+        newToken = jwtService.generateToken(userId, "benchmark-" + userId + "@test.local");
+    }
+
+    @Benchmark
+    public int verifiedToken() throws IOException, ServletException {
+        return filter(token);
+    }
+
+    @Benchmark
+    public int newToken() throws IOException, ServletException {
+        return filter(newToken);
+    }
+
+    private int filter(String bearer) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/wallets");
+        request.addHeader("Authorization", "Bearer " + bearer);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        securityFilterChain.doFilter(request, response, chain);
+        if (chain.getRequest() == null) {
+            throw new IllegalStateException("Request stopped in the security chain with " + response.getStatus());
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.cache.LedgerViewCache;
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.person.PersonService;
+import com.example.moneytracker.person.dto.CreatePersonRequest;
+import com.example.moneytracker.person.dto.PersonSummaryResponse;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.BalanceResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dashboard reads: people with their balances, and the wallet balance both from
+ * {@link LedgerViewCache} and, after an invalidation, from the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LedgerReadBenchmark {
+
+    private static final int PEOPLE = 50;
+
+    private PersonService personService;
+    private WalletService walletService;
+    private LedgerViewCache viewCache;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        personService = BenchmarkApplication.bean(PersonService.class);
+        walletService = BenchmarkApplication.bean(WalletService.class);
+        viewCache = BenchmarkApplication.bean(LedgerViewCache.class);
+        TransactionService transactionService = BenchmarkApplication.bean(TransactionService.class);
+        BenchmarkLedger ledger = BenchmarkLedger.open(0);
+        userId = ledger.user().getId();
+        for (int i = 1; i < PEOPLE; i++) {
+            Long person = personService.createPerson(new CreatePersonRequest("Person " + i, null, null)).id();
+            transactionService.createTransaction(new CreateTransactionRequest(
+                    person, ledger.cash(), null, new BigDecimal("5.00"), TransactionType.GIVEN, null, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestUsers.signOut();
+    }
+
+    @Benchmark
+    public List<PersonSummaryResponse> listPeople() {
+        return personService.listPeople();
+    }
+
+    @Benchmark
+    public BalanceResponse cachedBalance() {
+        return walletService.getBalance();
+    }
+
+    @Benchmark
+    public BalanceResponse uncachedBalance() {
+        viewCache.invalidate(userId);
+        return walletService.getBalance();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.moneytracker.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero when any benchmark present in both got worse than the
+ * allowed percentage: higher time per operation for {@code avgt}/{@code sample}/{@code ss}, lower
+ * {@code thrpt}. Benchmarks are matched by name and parameters.
+ * <p>
+ * {@code RegressionGate <baseline.json> <current.json> [max-regression-percent, default 10]}
+ */
+public final class RegressionGate {
+
+    private RegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RegressionGate <baseline.json> <current.json> [max-regression-percent]");
+            System.exit(2);
+        }
+        double allowed = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        current.forEach((key, now) -> {
+            Result before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("NEW   %s %.3f %s%n", key, now.score(), now.unit());
+                return;
+            }
+            double change = now.regressionPercentFrom(before);
+            boolean regressed = change > allowed;
+            System.out.printf("%s %s %.3f -> %.3f %s (%+.1f%% worse)%n", regressed ? "FAIL " : "OK   ",
+                    key, before.score(), now.score(), now.unit(), change);
+            if (regressed) {
+                regressions.add(key);
+            }
+        });
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%%: %s%n", regressions.size(), allowed,
+                    regressions);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = run.path("primaryMetric");
+            results.put(key.toString(), new Result(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    record Result(String mode, double score, String unit) {
+
+        /**
+         * Positive when this result is worse than {@code baseline}, in percent of the baseline score.
+         */
+        double regressionPercentFrom(Result baseline) {
+            double delta = "thrpt".equals(mode) ? baseline.score - score : score - baseline.score;
+            return baseline.score == 0 ? 0 : delta * 100 / baseline.score;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.BatchImportResponse;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code importTransactions} of a mixed batch; the score is rows imported per second, not batches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionImportBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private TransactionService transactionService;
+    private List<CreateTransactionRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkApplication.bean(TransactionService.class);
+        BenchmarkLedger ledger = BenchmarkLedger.open(0);
+        TransactionType[] types = TransactionType.values();
+        batch = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            batch.add(ledger.request(types[row % types.length], "0.75"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestUsers.signOut();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchImportResponse importTransactions() {
+        BatchImportResponse response = transactionService.importTransactions(batch);
+        if (!response.accepted()) {
+            throw new IllegalStateException("Benchmark batch rejected: " + response.rows());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.TransactionPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code listTransactions} pages for accounts of growing history. With keyset pagination on indexed
+ * columns the cost should stay flat as {@code history} grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionListBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int history;
+
+    private TransactionService transactionService;
+    private String secondPage;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkApplication.bean(TransactionService.class);
+        BenchmarkLedger.open(history);
+        secondPage = transactionService.listTransactions(null, null, null, null, null, null).nextCursor();
+        to = LocalDate.now(ZoneOffset.UTC);
+        from = to.minusDays(30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestUsers.signOut();
+    }
+
+    @Benchmark
+    public TransactionPage firstPage() {
+        return transactionService.listTransactions(null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public TransactionPage nextPage() {
+        return transactionService.listTransactions(null, null, null, null, secondPage, null);
+    }
+
+    @Benchmark
+    public TransactionPage filteredPage() {
+        return transactionService.listTransactions(WalletType.CASH, TransactionType.EXPENSE, from, to, null, null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.moneytracker.benchmark;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One committed {@code createTransaction} per operation, for each transaction type: wallet and person
+ * balance updates, monthly rollups and the insert, in one database transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionWriteBenchmark {
+
+    @Param({"INCOME", "EXPENSE", "TRANSFER", "RECEIVED", "GIVEN"})
+    private TransactionType type;
+
+    private TransactionService transactionService;
+    private CreateTransactionRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkApplication.bean(TransactionService.class);
+        request = BenchmarkLedger.open(0).request(type, "1.25");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestUsers.signOut();
+    }
+
+    @Benchmark
+    public TransactionResponse createTransaction() {
+        return transactionService.createTransaction(request);
+    }
+}
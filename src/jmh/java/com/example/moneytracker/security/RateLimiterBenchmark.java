@@ -0,0 +1,76 @@
+package com.example.moneytracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of {@link RateLimitFilter} without the servlet around it: a bucket lookup in a cache
+ * built like the filter's, then {@code tryAcquire}, for keys drawn uniformly from {@code keys} distinct
+ * clients. 10,000 keys fit in the CPU caches and serve as the baseline. The cache holds the default
+ * {@code max-keys} (1,000,000), so the largest setting also measures eviction and re-creation of buckets.
+ * Lives in the filter's package to reach the package-private bucket. Run with {@code -t} to measure
+ * contention on a shared cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RateLimiterBenchmark {
+
+    private static final long MAX_KEYS = 1_000_000;
+    private static final int LIMIT = 600;
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Param({"10000", "1000000", "4000000"})
+    private int keys;
+
+    private String[] clientKeys;
+    private Cache<String, TokenBucket> buckets;
+
+    @Setup
+    public void setUp() {
+        clientKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clientKeys[i] = "user:" + i;
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        long now = System.nanoTime();
+        for (String key : clientKeys) {
+            buckets.get(key, k -> new TokenBucket(now));
+        }
+        buckets.cleanUp();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public long acquire(Client client) {
+        String key = clientKeys[client.random.nextInt(keys)];
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(now));
+        return bucket.tryAcquire(1, LIMIT, WINDOW_NANOS, now);
+    }
+}
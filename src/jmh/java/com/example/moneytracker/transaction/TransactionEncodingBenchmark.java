@@ -0,0 +1,127 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of writing and reading one transaction page in each response encoding, without HTTP or the
+ * database. Lives in the converter's package to reach its package-private codec. The encoded sizes, raw and
+ * gzipped, are printed once per fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionEncodingBenchmark {
+
+    private static final TypeReference<List<TransactionResponse>> PAGE = new TypeReference<>() {
+    };
+    private static final String[] DESCRIPTIONS = {
+            null, "Groceries", "Rent for March", "Taxi to the airport", "Dinner with Ravi", "Café ☕", "Salary"
+    };
+
+    @Param({"json", "cbor", "smile", "columnar"})
+    private String format;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private List<TransactionResponse> page;
+    private ObjectMapper mapper;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        page = page(pageSize);
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "columnar" -> null;
+            default -> throw new IllegalArgumentException(format);
+        };
+        encoded = encode();
+        if (!decode().equals(page)) {
+            throw new IllegalStateException(format + " does not round-trip the page");
+        }
+        System.out.printf("%n%s, %d rows: %d bytes, %d gzipped%n", format, pageSize, encoded.length, gzipped(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        if (mapper == null) {
+            TransactionColumnarConverter.encode(page, out);
+        } else {
+            mapper.writeValue(out, page);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> decode() throws IOException {
+        if (mapper == null) {
+            return TransactionColumnarConverter.decode(new ByteArrayInputStream(encoded));
+        }
+        return mapper.readValue(encoded, PAGE);
+    }
+
+    /**
+     * Shaped like a listing page: newest first, a handful of wallets and people, mostly short descriptions.
+     */
+    private static List<TransactionResponse> page(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        TransactionType[] types = TransactionType.values();
+        List<TransactionResponse> rows = new ArrayList<>(size);
+        long id = 12_000_000;
+        Instant date = Instant.parse("2026-03-01T12:00:00Z");
+        for (int i = 0; i < size; i++) {
+            id -= 1 + random.nextInt(40);
+            date = date.minusSeconds(random.nextInt(86_400));
+            TransactionType type = types[random.nextInt(types.length)];
+            boolean person = type == TransactionType.RECEIVED || type == TransactionType.GIVEN;
+            Long from = type == TransactionType.INCOME || type == TransactionType.RECEIVED ? null : 101L;
+            Long to = type == TransactionType.EXPENSE || type == TransactionType.GIVEN ? null
+                    : type == TransactionType.TRANSFER ? 102L : 101L;
+            rows.add(new TransactionResponse(id, person ? 500L + random.nextInt(5) : null, from, to,
+                    BigDecimal.valueOf(1 + random.nextInt(500_000), 2), type,
+                    DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)], date, date.plusMillis(random.nextInt(2_000))));
+        }
+        return rows;
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
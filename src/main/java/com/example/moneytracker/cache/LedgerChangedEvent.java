@@ -0,0 +1,8 @@
+package com.example.moneytracker.cache;
+
+/**
+ * Published inside a write transaction that changed a user's wallets, people or transactions.
+ * Listeners that must only see committed state use {@code @TransactionalEventListener}.
+ */
+public record LedgerChangedEvent(Long userId) {
+}
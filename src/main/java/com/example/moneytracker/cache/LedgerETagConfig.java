@@ -0,0 +1,22 @@
+package com.example.moneytracker.cache;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LedgerETagConfig implements WebMvcConfigurer {
+
+    private final LedgerETagInterceptor ledgerETagInterceptor;
+
+    public LedgerETagConfig(LedgerETagInterceptor ledgerETagInterceptor) {
+        this.ledgerETagInterceptor = ledgerETagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(ledgerETagInterceptor)
+                .addPathPatterns("/api/wallets", "/api/wallets/**", "/api/people", "/api/people/**",
+                        "/api/transactions", "/api/transactions/search");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.moneytracker.cache;
+
+import com.example.moneytracker.replica.ReadYourWrites;
+import com.example.moneytracker.security.CurrentUser;
+import com.example.moneytracker.user.LedgerState;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for ledger read endpoints. The ETag is the user's ledger version, so a poll with a
+ * matching {@code If-None-Match} is answered with 304 before the controller runs any of its queries.
+ * <p>
+ * The version is read before the body, so the body is never older than its ETag. The view cache is told
+ * about the version too: a cached view loaded before that version was committed is dropped rather than
+ * served under the newer tag.
+ */
+@Component
+public class LedgerETagInterceptor implements HandlerInterceptor {
+
+    private final CurrentUser currentUser;
+    private final LedgerVersions ledgerVersions;
+    private final LedgerViewCache viewCache;
+    private final ReadYourWrites readYourWrites;
+
+    public LedgerETagInterceptor(CurrentUser currentUser,
+                                 LedgerVersions ledgerVersions,
+                                 LedgerViewCache viewCache,
+                                 ReadYourWrites readYourWrites) {
+        this.currentUser = currentUser;
+        this.ledgerVersions = ledgerVersions;
+        this.viewCache = viewCache;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+        Long userId = currentUser.getUserId();
+        if (userId == null) {
+            return true;
+        }
+        LedgerState state = ledgerVersions.current(userId);
+        if (state == null) {
+            return true;
+        }
+        long version = state.getVersion();
+        if (Boolean.TRUE.equals(state.getRecentlyChanged())) {
+            // Written within the pin window, possibly through another instance: read from the primary
+            readYourWrites.pin(userId);
+        }
+        viewCache.observe(userId, version);
+
+        // Same URL can be negotiated as JSON, NDJSON, CBOR, Smile or columnar; Vary keeps shared caches from mixing them
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // User id in the tag so a different login in the same browser never matches a cached body.
+        // Weak because the bytes vary with Accept and gzip; Tomcat also refuses to compress strong-tagged responses.
+        String etag = "W/\"" + userId + "." + version + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.moneytracker.cache;
+
+import com.example.moneytracker.replica.ReplicaProperties;
+import com.example.moneytracker.user.LedgerState;
+import com.example.moneytracker.user.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-user ledger version ({@code users.ledger_version}). Every {@link LedgerChangedEvent} bumps it just
+ * before the publishing transaction commits, so the new version and the write become visible together
+ * and a failed write leaves it untouched. The bump also stamps {@code users.ledger_changed_at}, which
+ * drives read-your-writes pinning when reads go to a replica.
+ */
+@Component
+public class LedgerVersions {
+
+    private final UserRepository userRepository;
+    private final long pinWindowMillis;
+
+    public LedgerVersions(UserRepository userRepository,
+                          ReplicaProperties replicaProperties) {
+        this.userRepository = userRepository;
+        this.pinWindowMillis = replicaProperties.getPinWindow().toMillis();
+    }
+
+    /**
+     * Read-write on purpose so it is served by the primary: a lagging replica's version would answer
+     * 304 for data the user has just changed.
+     */
+    @Transactional
+    public LedgerState current(Long userId) {
+        return userRepository.findLedgerState(userId, pinWindowMillis).orElse(null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        userRepository.bumpLedgerVersion(event.userId());
+    }
+}
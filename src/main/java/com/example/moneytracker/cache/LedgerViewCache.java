@@ -0,0 +1,146 @@
+package com.example.moneytracker.cache;
+
+import com.example.moneytracker.person.dto.PersonSummaryResponse;
+import com.example.moneytracker.wallet.dto.BalanceResponse;
+import com.example.moneytracker.wallet.dto.WalletResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of the read views that only change when that user writes: wallet list,
+ * balance and person summaries. Dropped after commit of any write by the user
+ * ({@link LedgerChangedEvent}), so a user never reads something older than their own last write.
+ * <p>
+ * All of a user's views hang off one {@link UserViews} holder, taken <em>before</em> the database is
+ * read. If a write commits and invalidates while a load is in flight, the load lands in the removed
+ * holder and is never served, so a slow reader cannot reinstate a pre-write value. Holders also remember
+ * the ledger version they were created under ({@link #observe}), which closes the gap between a write's
+ * commit and its after-commit invalidation for requests that already saw the new version.
+ */
+@Component
+public class LedgerViewCache {
+
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final Cache<Long, UserViews> views;
+    private final Counters wallets;
+    private final Counters balance;
+    private final Counters person;
+
+    public LedgerViewCache(MeterRegistry meterRegistry,
+                           @Value("${ledger.cache.max-users:10000}") long maxUsers,
+                           @Value("${ledger.cache.ttl:PT5M}") Duration ttl) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "ledgerViews");
+        this.wallets = new Counters(meterRegistry, "wallets");
+        this.balance = new Counters(meterRegistry, "balance");
+        this.person = new Counters(meterRegistry, "person");
+    }
+
+    public List<WalletResponse> wallets(Long userId, Supplier<List<WalletResponse>> loader) {
+        UserViews holder = holder(userId);
+        List<WalletResponse> cached = holder.wallets;
+        if (cached != null) {
+            wallets.hit.increment();
+            return cached;
+        }
+        wallets.miss.increment();
+        List<WalletResponse> loaded = List.copyOf(loader.get());
+        holder.wallets = loaded;
+        return loaded;
+    }
+
+    public BalanceResponse balance(Long userId, Supplier<BalanceResponse> loader) {
+        UserViews holder = holder(userId);
+        BalanceResponse cached = holder.balance;
+        if (cached != null) {
+            balance.hit.increment();
+            return cached;
+        }
+        balance.miss.increment();
+        BalanceResponse loaded = loader.get();
+        holder.balance = loaded;
+        return loaded;
+    }
+
+    public PersonSummaryResponse person(Long userId, Long personId, Supplier<PersonSummaryResponse> loader) {
+        UserViews holder = holder(userId);
+        PersonSummaryResponse cached = holder.people.get(personId);
+        if (cached != null) {
+            person.hit.increment();
+            return cached;
+        }
+        person.miss.increment();
+        PersonSummaryResponse loaded = loader.get();
+        holder.people.put(personId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Records that the caller has seen {@code version} committed: a holder created under an older or unknown
+     * version is replaced, so views served after this call are at least that new.
+     */
+    public void observe(Long userId, long version) {
+        views.asMap().compute(userId, (id, holder) ->
+                holder != null && holder.version >= version ? holder : new UserViews(version));
+    }
+
+    public void invalidate(Long userId) {
+        views.invalidate(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private UserViews holder(Long userId) {
+        return views.get(userId, id -> new UserViews(UNKNOWN_VERSION));
+    }
+
+    private static final class UserViews {
+        private final long version;
+        private volatile List<WalletResponse> wallets;
+        private volatile BalanceResponse balance;
+        private final Map<Long, PersonSummaryResponse> people = new ConcurrentHashMap<>();
+
+        private UserViews(long version) {
+            this.version = version;
+        }
+    }
+
+    private static final class Counters {
+        private final Counter hit;
+        private final Counter miss;
+
+        Counters(MeterRegistry meterRegistry, String view) {
+            this.hit = counter(meterRegistry, view, "hit");
+            this.miss = counter(meterRegistry, view, "miss");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String view, String result) {
+            return Counter.builder("ledger.cache.requests")
+                    .description("Per-user view cache lookups")
+                    .tag("view", view)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.moneytracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs an operation when the database reports a transient write conflict (deadlock,
+ * lock timeout, optimistic version clash). Call it outside the transactional method so
+ * every attempt runs in a fresh transaction.
+ */
+@Component
+public class ConflictRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetry.class);
+
+    private final int maxAttempts;
+
+    public ConflictRetry(@Value("${ledger.retry.max-attempts:3}") int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                log.warn("Write conflict on attempt {}/{}, retrying: {}", attempt, maxAttempts, ex.getMessage());
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    private static void backOff(int attempt, ConcurrencyFailureException cause) {
+        try {
+            // Jittered so colliding writers do not retry in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5L * attempt, 25L * attempt));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -4,15 +4,20 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import com.example.moneytracker.security.ResourceForbiddenException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -88,6 +93,72 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex,
+                                                                  HttpServletRequest request) {
+        log.warn("Write conflict persisted after retries on {} {}", request.getMethod(), request.getRequestURI(), ex);
+
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "The resource was modified concurrently. Please retry.",
+                request.getRequestURI(),
+                Collections.emptyList()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * No pooled connection became free within the pool's connection timeout (Hikari reports that as
+     * {@link SQLTransientConnectionException}): the database, not the request threads, is the bottleneck,
+     * so ask the client to back off. Spring wraps the timeout in {@link CannotCreateTransactionException}
+     * when a transaction begins and in {@link DataAccessResourceFailureException} when a repository call
+     * outside one needs a connection. Any other failure to connect, such as the database refusing
+     * connections, is not fixed by retrying in a second and stays a 500.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(RuntimeException ex,
+                                                                     HttpServletRequest request) {
+        if (isPoolTimeout(ex)) {
+            return serviceUnavailable(ex, request);
+        }
+        return handleGeneric(ex, request);
+    }
+
+    private ResponseEntity<ErrorResponse> serviceUnavailable(Exception ex, HttpServletRequest request) {
+        log.warn("No database connection available for {} {}", request.getMethod(), request.getRequestURI(), ex);
+
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The service is busy. Please retry shortly.",
+                request.getRequestURI(),
+                Collections.emptyList()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(body);
+    }
+
+    private static boolean isPoolTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The client went away mid-response (e.g. an abandoned export); there is nobody left to answer.
+     */
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientDisconnected(AsyncRequestNotUsableException ex, HttpServletRequest request) {
+        log.debug("Client disconnected during {} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(NoSuchElementException ex,
                                                         HttpServletRequest request) {
@@ -147,6 +218,10 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex,
                                                        HttpServletRequest request) {
+        // Pool timeouts also arrive wrapped in other exceptions, e.g. from the login's user lookup
+        if (isPoolTimeout(ex)) {
+            return serviceUnavailable(ex, request);
+        }
         // Log full stacktrace on server side, but return generic message to client
         log.error("Unhandled exception processing request {} {}", request.getMethod(), request.getRequestURI(), ex);
 
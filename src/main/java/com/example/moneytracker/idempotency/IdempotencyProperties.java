@@ -0,0 +1,37 @@
+package com.example.moneytracker.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "ledger.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a key and its stored response are kept; retries after this re-execute.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Completed keys kept in memory in front of the idempotency_keys table.
+     */
+    private long cacheSize = 10_000;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.moneytracker.idempotency;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A claimed Idempotency-Key and the response produced for it. Written only through the
+ * native statements in {@link IdempotencyRecordRepository}.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        indexes = {
+                @Index(name = "idx_idempotency_keys_created", columnList = "created_at")
+        }
+)
+public class IdempotencyRecord {
+
+    @EmbeddedId
+    private IdempotencyRecordId id;
+
+    @Column(nullable = false, length = 100)
+    private String operation;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(columnDefinition = "text")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public IdempotencyRecordId getId() {
+        return id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
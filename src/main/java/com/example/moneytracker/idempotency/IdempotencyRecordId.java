@@ -0,0 +1,49 @@
+package com.example.moneytracker.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class IdempotencyRecordId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    protected IdempotencyRecordId() {
+    }
+
+    public IdempotencyRecordId(Long userId, String idempotencyKey) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyRecordId other)) {
+            return false;
+        }
+        return Objects.equals(userId, other.userId) && Objects.equals(idempotencyKey, other.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, idempotencyKey);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.moneytracker.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Returns 1 if this call now owns the key (new, or expired but not yet purged). Returns 0 if
+     * another request holds it; if that request is still in flight, PostgreSQL blocks here until
+     * it commits or rolls back.
+     */
+    @Modifying
+    @Query(value = """
+            insert into idempotency_keys (user_id, idempotency_key, operation, request_hash, created_at)
+            values (:userId, :key, :operation, :requestHash, now())
+            on conflict (user_id, idempotency_key) do update
+                set operation     = excluded.operation,
+                    request_hash  = excluded.request_hash,
+                    response_body = null,
+                    created_at    = excluded.created_at
+                where idempotency_keys.created_at < :expiredBefore
+            """, nativeQuery = true)
+    int claim(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("operation") String operation,
+            @Param("requestHash") String requestHash,
+            @Param("expiredBefore") Instant expiredBefore
+    );
+
+    @Modifying
+    @Query(value = """
+            update idempotency_keys
+            set response_body = :responseBody
+            where user_id = :userId
+              and idempotency_key = :key
+            """, nativeQuery = true)
+    int complete(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("responseBody") String responseBody
+    );
+
+    @Modifying
+    @Query(value = "delete from idempotency_keys where created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,198 @@
+package com.example.moneytracker.idempotency;
+
+import com.example.moneytracker.security.CurrentUser;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes transaction writes safe to retry under an {@code Idempotency-Key}. The key is claimed in
+ * the same database transaction as the write, so concurrent duplicates serialize on the key's
+ * primary key and exactly one of them executes; the others replay its stored response.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final CurrentUser currentUser;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<IdempotencyRecordId, StoredResponse> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              IdempotencyProperties properties,
+                              CurrentUser currentUser,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.currentUser = currentUser;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfter(new RemainingLifetime())
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per (user, key). A repeat with the same key and request returns the
+     * first response without running {@code action}; reusing a key for a different request is a conflict.
+     * Without a key the action simply runs.
+     */
+    public TransactionResponse execute(String key,
+                                       String operation,
+                                       Object request,
+                                       Supplier<TransactionResponse> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        Long userId = currentUser.getUserId();
+        if (userId == null) {
+            throw new NoSuchElementException("No authenticated user");
+        }
+        IdempotencyRecordId id = new IdempotencyRecordId(userId, key);
+        String requestHash = fingerprint(operation, request);
+
+        // Fast path outside any transaction: a cache hit costs nothing, a miss one primary-key lookup
+        Optional<StoredResponse> previous = findCompleted(id);
+        if (previous.isPresent()) {
+            return replay(previous.get(), operation, requestHash);
+        }
+
+        StoredResponse stored = transactionTemplate.execute(status -> {
+            Instant claimedAt = Instant.now();
+            Instant expiredBefore = claimedAt.minus(properties.getTtl());
+            if (repository.claim(userId, key, operation, requestHash, expiredBefore) == 0) {
+                // Lost the race: the winner has committed by the time claim() returns
+                return findCompleted(id)
+                        .orElseThrow(() -> new IllegalStateException("Idempotency-Key is already in use"));
+            }
+            TransactionResponse response = action.get();
+            repository.complete(userId, key, serialize(response));
+            return new StoredResponse(operation, requestHash, response, claimedAt);
+        });
+
+        completed.put(id, stored);
+        return replay(stored, operation, requestHash);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.idempotency.cleanup-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(Instant.now().minus(properties.getTtl()));
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency key(s)", removed);
+        }
+    }
+
+    private Optional<StoredResponse> findCompleted(IdempotencyRecordId id) {
+        StoredResponse cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return repository.findById(id)
+                .filter(record -> record.getResponseBody() != null)
+                .filter(record -> record.getCreatedAt().isAfter(Instant.now().minus(properties.getTtl())))
+                .map(record -> {
+                    StoredResponse stored = new StoredResponse(record.getOperation(), record.getRequestHash(),
+                            deserialize(record.getResponseBody()), record.getCreatedAt());
+                    completed.put(id, stored);
+                    return stored;
+                });
+    }
+
+    private static TransactionResponse replay(StoredResponse stored, String operation, String requestHash) {
+        if (!stored.operation().equals(operation) || !stored.requestHash().equals(requestHash)) {
+            throw new IllegalStateException("Idempotency-Key was already used for a different request");
+        }
+        return stored.response();
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot fingerprint request", ex);
+        }
+    }
+
+    private String serialize(TransactionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot store idempotent response", ex);
+        }
+    }
+
+    private TransactionResponse deserialize(String body) {
+        try {
+            return objectMapper.readValue(body, TransactionResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read stored idempotent response", ex);
+        }
+    }
+
+    private record StoredResponse(String operation, String requestHash, TransactionResponse response, Instant createdAt) {
+    }
+
+    /**
+     * Cached replays live until the key itself expires ({@code created_at + ttl}), not for a full ttl from
+     * whenever they were cached: a key loaded from the database late in its life must not outlive its record.
+     */
+    private final class RemainingLifetime implements Expiry<IdempotencyRecordId, StoredResponse> {
+
+        @Override
+        public long expireAfterCreate(IdempotencyRecordId id, StoredResponse stored, long currentTime) {
+            return remainingNanos(stored);
+        }
+
+        @Override
+        public long expireAfterUpdate(IdempotencyRecordId id, StoredResponse stored, long currentTime,
+                                      long currentDuration) {
+            return remainingNanos(stored);
+        }
+
+        @Override
+        public long expireAfterRead(IdempotencyRecordId id, StoredResponse stored, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+
+        private long remainingNanos(StoredResponse stored) {
+            Duration remaining = Duration.between(Instant.now(), stored.createdAt().plus(properties.getTtl()));
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+    }
+}
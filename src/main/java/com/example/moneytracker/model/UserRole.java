@@ -0,0 +1,6 @@
+package com.example.moneytracker.model;
+
+public enum UserRole {
+    USER,
+    ADMIN
+}
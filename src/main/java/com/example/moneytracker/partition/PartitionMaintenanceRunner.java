@@ -0,0 +1,33 @@
+package com.example.moneytracker.partition;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Archives old transaction years at startup, e.g.
+ * {@code java -jar app.jar --ledger.maintenance.partitions=archive --ledger.partitions.keep-years=3}.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.maintenance.partitions")
+public class PartitionMaintenanceRunner implements ApplicationRunner {
+
+    private final TransactionPartitions partitions;
+    private final String mode;
+
+    public PartitionMaintenanceRunner(TransactionPartitions partitions,
+                                      @Value("${ledger.maintenance.partitions}") String mode) {
+        this.partitions = partitions;
+        this.mode = mode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!"archive".equals(mode)) {
+            throw new IllegalArgumentException("ledger.maintenance.partitions must be 'archive', got: " + mode);
+        }
+        partitions.archive();
+    }
+}
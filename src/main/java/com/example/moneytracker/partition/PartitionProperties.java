@@ -0,0 +1,49 @@
+package com.example.moneytracker.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "ledger.partitions")
+public class PartitionProperties {
+
+    /**
+     * Yearly partitions kept ready beyond the current year, so inserts never fall into the default partition.
+     */
+    private int yearsAhead = 1;
+
+    /**
+     * Years kept in the live table before {@code archive} moves them to {@code ledger_archive};
+     * e.g. 3 keeps the current year and the three before it.
+     */
+    private int keepYears = 3;
+
+    /**
+     * Optional tablespace for archived partitions, e.g. one on a compressed or cheaper volume.
+     */
+    private String archiveTablespace;
+
+    public int getYearsAhead() {
+        return yearsAhead;
+    }
+
+    public void setYearsAhead(int yearsAhead) {
+        this.yearsAhead = yearsAhead;
+    }
+
+    public int getKeepYears() {
+        return keepYears;
+    }
+
+    public void setKeepYears(int keepYears) {
+        this.keepYears = keepYears;
+    }
+
+    public String getArchiveTablespace() {
+        return archiveTablespace;
+    }
+
+    public void setArchiveTablespace(String archiveTablespace) {
+        this.archiveTablespace = archiveTablespace;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.moneytracker.partition;
+
+import com.example.moneytracker.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the yearly partitions of {@code transactions} (V11) in shape.
+ * <ul>
+ *     <li>{@link #ensurePartitions()} runs at startup and nightly. It creates partitions for the
+ *     coming years and for any year that has ended up in {@code transactions_default}, moving those
+ *     rows out of the default partition.</li>
+ *     <li>{@link #archive()} detaches years older than {@code ledger.partitions.keep-years} and attaches
+ *     them under {@code ledger_archive.transactions}. Listings, search and export stop seeing them.
+ *     Stored balances and rollups keep their totals, and full-history replays read both sides through
+ *     the {@code transaction_history} view.</li>
+ * </ul>
+ * Both take an advisory lock, so instances never race each other, and a short lock_timeout, so DDL
+ * gives up rather than queueing ledger writes behind it.
+ */
+@Service
+public class TransactionPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitions.class);
+    // Shared by every instance; any constant unused by other advisory locks will do
+    private static final long LOCK_KEY = 7_260_022L;
+    private static final Pattern YEAR_PARTITION = Pattern.compile("transactions_y(\\d{4})");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionProperties properties;
+    private final UserRepository userRepository;
+
+    public TransactionPartitions(JdbcTemplate jdbc,
+                                 PlatformTransactionManager transactionManager,
+                                 PartitionProperties properties,
+                                 UserRepository userRepository) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ledger.partitions.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        Integer created = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbc.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY))) {
+                return 0;
+            }
+            jdbc.execute("set local lock_timeout = '5s'");
+
+            Set<Integer> live = years("transactions");
+            Set<Integer> archived = years("ledger_archive.transactions");
+            int current = Year.now(ZoneOffset.UTC).getValue();
+            SortedSet<Integer> wanted = new TreeSet<>(jdbc.queryForList(
+                    "select distinct extract(year from date at time zone 'UTC')::int from transactions_default",
+                    Integer.class));
+            for (int year = current; year <= current + properties.getYearsAhead(); year++) {
+                wanted.add(year);
+            }
+            wanted.removeAll(live);
+
+            int count = 0;
+            for (int year : wanted) {
+                if (archived.contains(year)) {
+                    log.warn("Transactions dated {} stay in transactions_default: that year is archived", year);
+                    continue;
+                }
+                createPartition(year);
+                count++;
+            }
+            return count;
+        });
+        if (created != null && created > 0) {
+            log.info("Created {} transaction partition(s)", created);
+        }
+    }
+
+    /**
+     * Moves every live year before {@code current year - keep-years} to the archive, one year per
+     * database transaction, and returns how many were moved.
+     */
+    public int archive() {
+        String tablespace = properties.getArchiveTablespace();
+        if (StringUtils.hasText(tablespace) && !IDENTIFIER.matcher(tablespace).matches()) {
+            throw new IllegalArgumentException("ledger.partitions.archive-tablespace is not a plain identifier: " + tablespace);
+        }
+        int cutoff = Year.now(ZoneOffset.UTC).getValue() - properties.getKeepYears();
+
+        int moved = 0;
+        for (int year : new TreeSet<>(years("transactions"))) {
+            if (year >= cutoff) {
+                break;
+            }
+            if (archiveYear(year, tablespace)) {
+                // VACUUM cannot run inside a transaction block; the row versions never change again
+                jdbc.execute("vacuum (freeze, analyze) ledger_archive.transactions_y" + year);
+                log.info("Archived transactions for {}", year);
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            // Listings lost rows without a ledger write; make clients and view caches refetch
+            transactionTemplate.executeWithoutResult(status -> userRepository.bumpAllLedgerVersions());
+        }
+        log.info("Transaction archival finished: {} year(s) moved to ledger_archive", moved);
+        return moved;
+    }
+
+    private boolean archiveYear(int year, String tablespace) {
+        String name = "transactions_y" + year;
+        Boolean done = transactionTemplate.execute(status -> {
+            jdbc.queryForList("select pg_advisory_xact_lock(?)", LOCK_KEY);
+            if (years("ledger_archive.transactions").contains(year)) {
+                log.warn("Skipping {}: ledger_archive already has a partition for that year", year);
+                return false;
+            }
+            jdbc.execute("set local lock_timeout = '5s'");
+            jdbc.execute("alter table transactions detach partition " + name);
+            jdbc.execute("alter table " + name + " set schema ledger_archive");
+            jdbc.execute("alter table ledger_archive.transactions attach partition ledger_archive." + name
+                    + " for values from (" + bound(year) + ") to (" + bound(year + 1) + ")");
+
+            // Search only covers live years, and its GIN indexes are most of a partition's index footprint
+            List<String> searchIndexes = jdbc.queryForList("""
+                    select indexname from pg_indexes
+                    where schemaname = 'ledger_archive' and tablename = ? and indexdef like '% USING gin %'
+                    """, String.class, name);
+            for (String index : searchIndexes) {
+                jdbc.execute("drop index ledger_archive." + index);
+            }
+            if (StringUtils.hasText(tablespace)) {
+                jdbc.execute("alter table ledger_archive." + name + " set tablespace " + tablespace);
+                for (String index : jdbc.queryForList(
+                        "select indexname from pg_indexes where schemaname = 'ledger_archive' and tablename = ?",
+                        String.class, name)) {
+                    jdbc.execute("alter index ledger_archive." + index + " set tablespace " + tablespace);
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+
+    /**
+     * Builds the partition as a plain table, moves that year's rows out of the default partition, then attaches
+     * it. Creating it directly as a partition would fail whenever the default partition holds rows in the range.
+     */
+    private void createPartition(int year) {
+        String name = "transactions_y" + year;
+        OffsetDateTime from = yearStart(year);
+        OffsetDateTime to = yearStart(year + 1);
+        jdbc.execute("create table " + name + " (like transactions including defaults including constraints)");
+        int moved = jdbc.update("with moved as (delete from transactions_default where date >= ? and date < ? returning *) "
+                + "insert into " + name + " select * from moved", from, to);
+        jdbc.execute("alter table transactions attach partition " + name
+                + " for values from (" + bound(year) + ") to (" + bound(year + 1) + ")");
+        if (moved > 0) {
+            log.info("Moved {} transaction(s) dated {} out of transactions_default", moved, year);
+        }
+    }
+
+    private Set<Integer> years(String parent) {
+        Set<Integer> years = new TreeSet<>();
+        for (String child : jdbc.queryForList("""
+                select c.relname
+                from pg_inherits i
+                         join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = ?::regclass
+                """, String.class, parent)) {
+            Matcher matcher = YEAR_PARTITION.matcher(child);
+            if (matcher.matches()) {
+                years.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return years;
+    }
+
+    private static OffsetDateTime yearStart(int year) {
+        return OffsetDateTime.of(year, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    private static String bound(int year) {
+        return "'" + year + "-01-01 00:00:00+00'";
+    }
+}
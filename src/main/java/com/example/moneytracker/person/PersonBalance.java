@@ -0,0 +1,70 @@
+package com.example.moneytracker.person;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Running received/given totals for a person. Rows are only ever changed through the
+ * atomic statements in {@link PersonBalanceRepository}, never by dirty-checking.
+ */
+@Entity
+@Table(
+        name = "person_balances",
+        indexes = {
+                @Index(name = "idx_person_balances_user", columnList = "user_id")
+        }
+)
+public class PersonBalance {
+
+    @Id
+    @Column(name = "person_id")
+    private Long personId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal received = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal given = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal net = BigDecimal.ZERO;
+
+    @Column(name = "last_tx_id")
+    private Long lastTxId;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getReceived() {
+        return received;
+    }
+
+    public BigDecimal getGiven() {
+        return given;
+    }
+
+    public BigDecimal getNet() {
+        return net;
+    }
+
+    public Long getLastTxId() {
+        return lastTxId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.moneytracker.person;
+
+import java.math.BigDecimal;
+
+/**
+ * A person whose stored balance disagrees with the sums recomputed from the transaction log.
+ */
+public interface PersonBalanceDrift {
+
+    Long getPersonId();
+
+    Long getUserId();
+
+    BigDecimal getStoredReceived();
+
+    BigDecimal getStoredGiven();
+
+    BigDecimal getActualReceived();
+
+    BigDecimal getActualGiven();
+}
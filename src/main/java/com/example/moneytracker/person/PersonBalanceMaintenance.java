@@ -0,0 +1,49 @@
+package com.example.moneytracker.person;
+
+import com.example.moneytracker.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Recomputes {@code person_balances} from the transaction log to detect or repair drift.
+ */
+@Service
+public class PersonBalanceMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonBalanceMaintenance.class);
+
+    private final PersonBalanceRepository personBalanceRepository;
+    private final UserRepository userRepository;
+
+    public PersonBalanceMaintenance(PersonBalanceRepository personBalanceRepository,
+                                    UserRepository userRepository) {
+        this.personBalanceRepository = personBalanceRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonBalanceDrift> verify() {
+        List<PersonBalanceDrift> drift = personBalanceRepository.findDrift();
+        for (PersonBalanceDrift d : drift) {
+            log.warn("Person balance drift for person {} (user {}): stored received={} given={}, actual received={} given={}",
+                    d.getPersonId(), d.getUserId(), d.getStoredReceived(), d.getStoredGiven(),
+                    d.getActualReceived(), d.getActualGiven());
+        }
+        log.info("Person balance verification finished: {} person(s) drifted", drift.size());
+        return drift;
+    }
+
+    @Transactional
+    public int rebuild() {
+        personBalanceRepository.lockTransactionLog();
+        int rows = personBalanceRepository.rebuildAll();
+        // Person summaries may have changed under cached ETags and views
+        userRepository.bumpAllLedgerVersions();
+        log.info("Rebuilt {} person balance row(s) from the transaction log", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.moneytracker.person;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a person balance check at startup, e.g.
+ * {@code java -jar app.jar --ledger.maintenance.person-balances=verify} (or {@code rebuild}).
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.maintenance.person-balances")
+public class PersonBalanceMaintenanceRunner implements ApplicationRunner {
+
+    private final PersonBalanceMaintenance maintenance;
+    private final String mode;
+
+    public PersonBalanceMaintenanceRunner(PersonBalanceMaintenance maintenance,
+                                          @Value("${ledger.maintenance.person-balances}") String mode) {
+        this.maintenance = maintenance;
+        this.mode = mode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        switch (mode) {
+            case "verify" -> maintenance.verify();
+            case "rebuild" -> maintenance.rebuild();
+            default -> throw new IllegalArgumentException(
+                    "ledger.maintenance.person-balances must be 'verify' or 'rebuild', got: " + mode);
+        }
+    }
+}
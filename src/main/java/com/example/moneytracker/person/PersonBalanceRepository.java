@@ -0,0 +1,95 @@
+package com.example.moneytracker.person;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface PersonBalanceRepository extends JpaRepository<PersonBalance, Long> {
+
+    List<PersonBalance> findAllByUserId(Long userId);
+
+    @Modifying
+    @Query(value = """
+            insert into person_balances (person_id, user_id, received, given, net, updated_at)
+            values (:personId, :userId, 0, 0, 0, now())
+            """, nativeQuery = true)
+    void insertEmpty(@Param("personId") Long personId, @Param("userId") Long userId);
+
+    /**
+     * Adds to the running totals in a single statement so concurrent writers never lose an update.
+     */
+    @Modifying
+    @Query(value = """
+            update person_balances
+            set received   = received + :received,
+                given      = given + :given,
+                net        = net + :received - :given,
+                last_tx_id = greatest(coalesce(last_tx_id, 0), :txId),
+                updated_at = now()
+            where person_id = :personId
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("personId") Long personId,
+            @Param("received") BigDecimal received,
+            @Param("given") BigDecimal given,
+            @Param("txId") Long txId
+    );
+
+    /**
+     * Blocks transaction inserts (but not reads) until the surrounding transaction ends,
+     * so a rebuild sees a log that cannot move underneath it.
+     */
+    @Modifying
+    @Query(value = "lock table transactions in share mode", nativeQuery = true)
+    void lockTransactionLog();
+
+    @Modifying
+    @Query(value = """
+            insert into person_balances (person_id, user_id, received, given, net, last_tx_id, updated_at)
+            select p.id,
+                   p.user_id,
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0)
+                       - coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+                   max(t.id),
+                   now()
+            from people p
+                     left join transaction_history t on t.person_id = p.id
+            group by p.id, p.user_id
+            on conflict (person_id) do update
+                set received   = excluded.received,
+                    given      = excluded.given,
+                    net        = excluded.net,
+                    last_tx_id = excluded.last_tx_id,
+                    updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int rebuildAll();
+
+    @Query(value = """
+            select p.id                          as personId,
+                   p.user_id                     as userId,
+                   b.received                    as storedReceived,
+                   b.given                       as storedGiven,
+                   coalesce(x.received, 0)       as actualReceived,
+                   coalesce(x.given, 0)          as actualGiven
+            from people p
+                     left join person_balances b on b.person_id = p.id
+                     left join (select t.person_id,
+                                       sum(t.amount) filter (where t.transaction_type = 'RECEIVED') as received,
+                                       sum(t.amount) filter (where t.transaction_type = 'GIVEN')    as given
+                                from transaction_history t
+                                where t.person_id is not null
+                                group by t.person_id) x on x.person_id = p.id
+            where b.person_id is null
+               or b.received <> coalesce(x.received, 0)
+               or b.given <> coalesce(x.given, 0)
+               or b.net <> b.received - b.given
+            order by p.id
+            """, nativeQuery = true)
+    List<PersonBalanceDrift> findDrift();
+}
@@ -1,18 +1,24 @@
 package com.example.moneytracker.person;
 
-import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.cache.LedgerChangedEvent;
+import com.example.moneytracker.cache.LedgerViewCache;
 import com.example.moneytracker.person.dto.CreatePersonRequest;
 import com.example.moneytracker.person.dto.PersonSummaryResponse;
 import com.example.moneytracker.security.CurrentUser;
 import com.example.moneytracker.transaction.TransactionRepository;
 import com.example.moneytracker.user.User;
 import com.example.moneytracker.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.example.moneytracker.security.ResourceForbiddenException;
@@ -21,18 +27,31 @@ import com.example.moneytracker.security.ResourceForbiddenException;
 public class PersonService {
 
     private final PersonRepository personRepository;
+    private final PersonBalanceRepository personBalanceRepository;
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final CurrentUser currentUser;
+    private final LedgerViewCache viewCache;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate readOnlyTx;
 
     public PersonService(PersonRepository personRepository,
+                         PersonBalanceRepository personBalanceRepository,
                          TransactionRepository transactionRepository,
                          UserRepository userRepository,
-                         CurrentUser currentUser) {
+                         CurrentUser currentUser,
+                         LedgerViewCache viewCache,
+                         ApplicationEventPublisher events,
+                         PlatformTransactionManager transactionManager) {
         this.personRepository = personRepository;
+        this.personBalanceRepository = personBalanceRepository;
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
         this.currentUser = currentUser;
+        this.viewCache = viewCache;
+        this.events = events;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     private Long requireCurrentUserId() {
@@ -43,10 +62,11 @@ public class PersonService {
         return userId;
     }
 
+    /**
+     * Uninitialised proxy for the authenticated user: enough to set foreign keys without a users query.
+     */
     private User getCurrentUserEntity() {
-        Long userId = requireCurrentUserId();
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
+        return userRepository.getReferenceById(requireCurrentUserId());
     }
 
     @Transactional
@@ -60,24 +80,38 @@ public class PersonService {
         person.setNotes(request.notes());
 
         Person saved = personRepository.save(person);
-        return toSummary(saved);
+        personBalanceRepository.insertEmpty(saved.getId(), user.getId());
+        events.publishEvent(new LedgerChangedEvent(user.getId()));
+        return toSummary(saved, BigDecimal.ZERO, BigDecimal.ZERO);
     }
 
     @Transactional(readOnly = true)
     public List<PersonSummaryResponse> listPeople() {
         Long userId = requireCurrentUserId();
-        return personRepository.findAllByUser_Id(userId)
+        List<Person> people = personRepository.findAllByUser_Id(userId);
+        if (people.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PersonBalance> balances = personBalanceRepository.findAllByUserId(userId)
                 .stream()
-                .map(this::toSummary)
+                .collect(Collectors.toMap(PersonBalance::getPersonId, Function.identity()));
+
+        return people.stream()
+                .map(person -> toSummary(person, balances.get(person.getId())))
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link LedgerViewCache}; unknown ids throw from the loader and are never cached.
+     */
     public PersonSummaryResponse getPerson(Long id) {
         Long userId = requireCurrentUserId();
-        Person person = personRepository.findByIdAndUser_Id(id, userId)
-                .orElseThrow(() -> new NoSuchElementException("Person not found"));
-        return toSummary(person);
+        return viewCache.person(userId, id, () -> readOnlyTx.execute(status -> {
+            Person person = personRepository.findByIdAndUser_Id(id, userId)
+                    .orElseThrow(() -> new NoSuchElementException("Person not found"));
+            return toSummary(person, personBalanceRepository.findById(person.getId()).orElse(null));
+        }));
     }
 
     @Transactional
@@ -85,21 +119,22 @@ public class PersonService {
         Long userId = requireCurrentUserId();
         Person person = personRepository.findByIdAndUser_Id(id, userId)
                 .orElseThrow(() -> new NoSuchElementException("Person not found"));
-        if (transactionRepository.existsByPerson_Id(person.getId())) {
+        if (transactionRepository.existsForPerson(person.getId())) {
             throw new IllegalStateException("Cannot delete person with existing transactions");
         }
+        personBalanceRepository.deleteById(person.getId());
         personRepository.delete(person);
+        events.publishEvent(new LedgerChangedEvent(userId));
     }
 
-    private PersonSummaryResponse toSummary(Person person) {
-        Long userId = person.getUser().getId();
-        Long personId = person.getId();
-
-        BigDecimal totalReceived = transactionRepository
-                .sumAmountByUserAndPersonAndType(userId, personId, TransactionType.RECEIVED);
-        BigDecimal totalGiven = transactionRepository
-                .sumAmountByUserAndPersonAndType(userId, personId, TransactionType.GIVEN);
+    private PersonSummaryResponse toSummary(Person person, PersonBalance balance) {
+        if (balance == null) {
+            return toSummary(person, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        return toSummary(person, balance.getReceived(), balance.getGiven());
+    }
 
+    private PersonSummaryResponse toSummary(Person person, BigDecimal totalReceived, BigDecimal totalGiven) {
         BigDecimal net = totalReceived.subtract(totalGiven);
         String status;
         int cmp = net.compareTo(BigDecimal.ZERO);
@@ -0,0 +1,354 @@
+package com.example.moneytracker.reconciliation;
+
+import com.example.moneytracker.reconciliation.dto.LedgerDrift;
+import com.example.moneytracker.reconciliation.dto.ReconciliationReport;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Replays each user's transaction log and compares the result with the denormalised totals
+ * ({@code wallets.balance}, {@code person_balances}).
+ * <p>
+ * Users are split across a fork-join pool, one task per user. Each user is read in a single
+ * REPEATABLE READ snapshot, so log and totals are compared at the same instant and in-flight
+ * postings never show up as drift. The replay starts from that user's last checkpoint (totals
+ * for every row created before a watermark), and each run moves the checkpoint forward to
+ * {@code start - checkpointMargin}, so steady-state runs only read recent rows.
+ * <p>
+ * The job uses its own small connection pool (one connection per worker) rather than the
+ * request pool.
+ */
+@Service
+public class LedgerReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReconciler.class);
+    private static final int USERS_PER_LEAF = 16;
+    private static final Instant BEGINNING = Instant.EPOCH;
+
+    private static final String WALLET_REPLAY_SQL = """
+            select leg.wallet_id,
+                   coalesce(sum(leg.amount) filter (where t.created_at < ?), 0) as before_cutoff,
+                   coalesce(sum(leg.amount), 0)                                as total,
+                   count(*) filter (where leg.counted)                         as row_count
+            from transaction_history t
+                     cross join lateral (values (t.to_wallet_id, t.amount, t.from_wallet_id is null),
+                                                (t.from_wallet_id, -t.amount, true))
+                as leg (wallet_id, amount, counted)
+            where t.user_id = ?
+              and t.created_at >= ?
+              and leg.wallet_id is not null
+            group by leg.wallet_id
+            """;
+
+    private static final String PERSON_REPLAY_SQL = """
+            select t.person_id,
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED' and t.created_at < ?), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN' and t.created_at < ?), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0)
+            from transaction_history t
+            where t.user_id = ?
+              and t.created_at >= ?
+              and t.person_id is not null
+            group by t.person_id
+            """;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ReconciliationProperties properties;
+    private final Object lifecycle = new Object();
+    private HikariDataSource dataSource;
+    private ForkJoinPool pool;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate snapshotTx;
+    private TransactionTemplate writeTx;
+    private volatile ReconciliationRun lastRun;
+
+    public LedgerReconciler(DataSourceProperties dataSourceProperties, ReconciliationProperties properties) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+    }
+
+    public ReconciliationReport latest() {
+        ReconciliationRun run = lastRun;
+        if (run == null) {
+            throw new NoSuchElementException("No reconciliation has run yet");
+        }
+        return run.toReport();
+    }
+
+    /**
+     * Starts a run in the background and returns its initial report.
+     *
+     * @param full ignore checkpoints and replay every user's whole history
+     */
+    public ReconciliationReport start(boolean full) {
+        ReconciliationRun run;
+        synchronized (lifecycle) {
+            if (lastRun != null && lastRun.isRunning()) {
+                throw new IllegalStateException("Reconciliation is already running");
+            }
+            initialise();
+            Instant now = Instant.now();
+            run = new ReconciliationRun(full, now, now.minus(properties.getCheckpointMargin()),
+                    properties.getMaxReportedDrift());
+            lastRun = run;
+        }
+        pool.execute(() -> execute(run));
+        return run.toReport();
+    }
+
+    /**
+     * Optional periodic run, e.g. {@code ledger.reconciliation.cron=0 30 3 * * *}; off by default.
+     */
+    @Scheduled(cron = "${ledger.reconciliation.cron:-}")
+    public void scheduledRun() {
+        try {
+            start(false);
+        } catch (IllegalStateException ex) {
+            log.info("Skipping scheduled reconciliation: {}", ex.getMessage());
+        }
+    }
+
+    private void execute(ReconciliationRun run) {
+        try {
+            long[] userIds = jdbc.queryForList("select id from users order by id", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+            run.usersTotal(userIds.length);
+            log.info("Reconciling {} user(s) on {} worker(s), checkpoint cutoff {}{}",
+                    userIds.length, properties.getParallelism(), run.cutoff(), run.full() ? " (full replay)" : "");
+            new ReconcileUsers(userIds, 0, userIds.length, run).invoke();
+            run.finish("COMPLETED");
+        } catch (RuntimeException ex) {
+            log.error("Reconciliation failed", ex);
+            run.finish("FAILED");
+        }
+        ReconciliationReport report = run.toReport();
+        log.info("Reconciliation {}: {}/{} user(s) checked, {} failed, {} with drift, {} row(s) replayed",
+                report.status(), report.usersChecked(), report.usersTotal(), report.usersFailed(),
+                report.usersWithDrift(), report.rowsReplayed());
+    }
+
+    private final class ReconcileUsers extends RecursiveAction {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final ReconciliationRun run;
+
+        ReconcileUsers(long[] userIds, int from, int to, ReconciliationRun run) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= USERS_PER_LEAF) {
+                for (int i = from; i < to; i++) {
+                    reconcileUser(userIds[i], run);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ReconcileUsers(userIds, from, mid, run), new ReconcileUsers(userIds, mid, to, run));
+        }
+    }
+
+    private void reconcileUser(long userId, ReconciliationRun run) {
+        try {
+            UserReplay replay = snapshotTx.execute(status -> replay(userId, run));
+            List<LedgerDrift> drift = replay.drift();
+            for (LedgerDrift d : drift) {
+                log.warn("Ledger drift for user {}: {} {} {} expected={} actual={}",
+                        d.userId(), d.subject(), d.subjectId(), d.field(), d.expected(), d.actual());
+            }
+            if (replay.advancesCheckpoint()) {
+                writeTx.executeWithoutResult(status -> writeCheckpoint(userId, run.cutoff(), replay));
+            }
+            run.checked(replay.rows(), drift);
+        } catch (RuntimeException ex) {
+            log.error("Reconciliation failed for user {}", userId, ex);
+            run.failed();
+        }
+    }
+
+    private UserReplay replay(long userId, ReconciliationRun run) {
+        Instant since = BEGINNING;
+        Map<Long, BigDecimal> walletBase = new HashMap<>();
+        Map<Long, BigDecimal[]> personBase = new HashMap<>();
+        if (!run.full()) {
+            List<OffsetDateTime> checkpoint = jdbc.queryForList(
+                    "select through_created_at from ledger_checkpoints where user_id = ?", OffsetDateTime.class, userId);
+            if (!checkpoint.isEmpty()) {
+                since = checkpoint.get(0).toInstant();
+                jdbc.query("select wallet_id, balance from ledger_checkpoint_wallets where user_id = ?",
+                        rs -> {
+                            walletBase.put(rs.getLong(1), rs.getBigDecimal(2));
+                        }, userId);
+                jdbc.query("select person_id, received, given from ledger_checkpoint_people where user_id = ?",
+                        rs -> {
+                            personBase.put(rs.getLong(1), new BigDecimal[]{rs.getBigDecimal(2), rs.getBigDecimal(3)});
+                        }, userId);
+            }
+        }
+
+        OffsetDateTime cutoff = utc(run.cutoff());
+        OffsetDateTime sinceTs = utc(since);
+        Map<Long, BigDecimal> walletCheckpoint = new HashMap<>(walletBase);
+        Map<Long, BigDecimal> walletExpected = new HashMap<>(walletBase);
+        long[] rows = new long[1];
+        jdbc.query(WALLET_REPLAY_SQL, rs -> {
+            long walletId = rs.getLong(1);
+            walletCheckpoint.merge(walletId, rs.getBigDecimal(2), BigDecimal::add);
+            walletExpected.merge(walletId, rs.getBigDecimal(3), BigDecimal::add);
+            rows[0] += rs.getLong(4);
+        }, cutoff, userId, sinceTs);
+
+        Map<Long, BigDecimal[]> personCheckpoint = new HashMap<>();
+        Map<Long, BigDecimal[]> personExpected = new HashMap<>();
+        personBase.forEach((id, totals) -> {
+            personCheckpoint.put(id, totals.clone());
+            personExpected.put(id, totals.clone());
+        });
+        jdbc.query(PERSON_REPLAY_SQL, rs -> {
+            long personId = rs.getLong(1);
+            add(personCheckpoint, personId, rs.getBigDecimal(2), rs.getBigDecimal(3));
+            add(personExpected, personId, rs.getBigDecimal(4), rs.getBigDecimal(5));
+        }, cutoff, cutoff, userId, sinceTs);
+
+        List<LedgerDrift> drift = new ArrayList<>();
+        Map<Long, BigDecimal> walletActual = new HashMap<>();
+        jdbc.query("select id, balance from wallets where user_id = ?",
+                rs -> {
+                    walletActual.put(rs.getLong(1), rs.getBigDecimal(2));
+                }, userId);
+        Set<Long> walletIds = new TreeSet<>(walletActual.keySet());
+        walletIds.addAll(walletExpected.keySet());
+        for (Long walletId : walletIds) {
+            compare(drift, userId, "wallet", walletId, "balance",
+                    walletExpected.get(walletId), walletActual.get(walletId));
+        }
+
+        Map<Long, BigDecimal[]> personActual = new HashMap<>();
+        jdbc.query("select person_id, received, given from person_balances where user_id = ?",
+                rs -> {
+                    personActual.put(rs.getLong(1), new BigDecimal[]{rs.getBigDecimal(2), rs.getBigDecimal(3)});
+                }, userId);
+        Set<Long> personIds = new TreeSet<>(personActual.keySet());
+        personIds.addAll(personExpected.keySet());
+        for (Long personId : personIds) {
+            BigDecimal[] expected = personExpected.get(personId);
+            BigDecimal[] actual = personActual.get(personId);
+            compare(drift, userId, "person", personId, "received",
+                    expected != null ? expected[0] : null, actual != null ? actual[0] : null);
+            compare(drift, userId, "person", personId, "given",
+                    expected != null ? expected[1] : null, actual != null ? actual[1] : null);
+        }
+
+        boolean advances = run.cutoff().isAfter(since);
+        return new UserReplay(rows[0], drift, advances, walletCheckpoint, personCheckpoint);
+    }
+
+    private void writeCheckpoint(long userId, Instant cutoff, UserReplay replay) {
+        jdbc.update("""
+                insert into ledger_checkpoints (user_id, through_created_at, updated_at)
+                values (?, ?, now())
+                on conflict (user_id) do update
+                    set through_created_at = excluded.through_created_at,
+                        updated_at         = excluded.updated_at
+                """, userId, utc(cutoff));
+        List<Object[]> wallets = new ArrayList<>();
+        replay.walletCheckpoint().forEach((walletId, balance) -> wallets.add(new Object[]{walletId, userId, balance}));
+        jdbc.batchUpdate("""
+                insert into ledger_checkpoint_wallets (wallet_id, user_id, balance)
+                values (?, ?, ?)
+                on conflict (wallet_id) do update set balance = excluded.balance
+                """, wallets);
+        List<Object[]> people = new ArrayList<>();
+        replay.personCheckpoint().forEach((personId, totals) ->
+                people.add(new Object[]{personId, userId, totals[0], totals[1]}));
+        jdbc.batchUpdate("""
+                insert into ledger_checkpoint_people (person_id, user_id, received, given)
+                values (?, ?, ?, ?)
+                on conflict (person_id) do update set received = excluded.received, given = excluded.given
+                """, people);
+    }
+
+    private static void add(Map<Long, BigDecimal[]> totals, long personId, BigDecimal received, BigDecimal given) {
+        BigDecimal[] current = totals.computeIfAbsent(personId, id -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        current[0] = current[0].add(received);
+        current[1] = current[1].add(given);
+    }
+
+    private static void compare(List<LedgerDrift> drift, long userId, String subject, Long subjectId, String field,
+                                BigDecimal expected, BigDecimal actual) {
+        BigDecimal e = expected != null ? expected : BigDecimal.ZERO;
+        BigDecimal a = actual != null ? actual : BigDecimal.ZERO;
+        if (e.compareTo(a) != 0) {
+            drift.add(new LedgerDrift(userId, subject, subjectId, field, e, a));
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private void initialise() {
+        if (pool != null) {
+            return;
+        }
+        int parallelism = Math.max(1, properties.getParallelism());
+        dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("reconciliation");
+        dataSource.setMaximumPoolSize(parallelism);
+        dataSource.setMinimumIdle(0);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        snapshotTx = new TransactionTemplate(transactionManager);
+        snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        synchronized (lifecycle) {
+            if (pool != null) {
+                pool.shutdownNow();
+                dataSource.close();
+            }
+        }
+    }
+
+    private record UserReplay(long rows,
+                              List<LedgerDrift> drift,
+                              boolean advancesCheckpoint,
+                              Map<Long, BigDecimal> walletCheckpoint,
+                              Map<Long, BigDecimal[]> personCheckpoint) {
+    }
+}
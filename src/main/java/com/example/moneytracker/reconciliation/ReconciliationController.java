@@ -0,0 +1,42 @@
+package com.example.moneytracker.reconciliation;
+
+import com.example.moneytracker.reconciliation.dto.ReconciliationReport;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin-only: accounts with {@code users.role = 'ADMIN'} (see AdminAuthorizationManager).
+ */
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+public class ReconciliationController {
+
+    private final LedgerReconciler reconciler;
+
+    public ReconciliationController(LedgerReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    /**
+     * Report of the current or most recent run, including any drift found.
+     */
+    @GetMapping
+    public ReconciliationReport latest() {
+        return reconciler.latest();
+    }
+
+    /**
+     * Starts a run in the background; {@code full=true} ignores checkpoints and replays all history.
+     */
+    @PostMapping
+    public ResponseEntity<ReconciliationReport> start(
+            @RequestParam(value = "full", defaultValue = "false") boolean full
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciler.start(full));
+    }
+}
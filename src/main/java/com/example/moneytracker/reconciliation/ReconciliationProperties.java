@@ -0,0 +1,53 @@
+package com.example.moneytracker.reconciliation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "ledger.reconciliation")
+public class ReconciliationProperties {
+
+    /**
+     * Users reconciled concurrently; also the size of the job's own connection pool,
+     * which is separate from the request pool so a run cannot starve API traffic.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Checkpoints only cover rows created at least this long before the run started, so a posting
+     * that was still uncommitted when its user was checked cannot fall behind the watermark.
+     * Must exceed the longest ledger transaction.
+     */
+    private Duration checkpointMargin = Duration.ofMinutes(10);
+
+    /**
+     * Drift entries kept in the report; the counts are always complete.
+     */
+    private int maxReportedDrift = 1_000;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Duration getCheckpointMargin() {
+        return checkpointMargin;
+    }
+
+    public void setCheckpointMargin(Duration checkpointMargin) {
+        this.checkpointMargin = checkpointMargin;
+    }
+
+    public int getMaxReportedDrift() {
+        return maxReportedDrift;
+    }
+
+    public void setMaxReportedDrift(int maxReportedDrift) {
+        this.maxReportedDrift = maxReportedDrift;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.moneytracker.reconciliation;
+
+import com.example.moneytracker.reconciliation.dto.LedgerDrift;
+import com.example.moneytracker.reconciliation.dto.ReconciliationReport;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one reconciliation run, updated concurrently by the per-user tasks.
+ */
+final class ReconciliationRun {
+
+    private final boolean full;
+    private final Instant startedAt;
+    private final Instant cutoff;
+    private final int maxReportedDrift;
+    private final AtomicLong usersTotal = new AtomicLong();
+    private final AtomicLong usersChecked = new AtomicLong();
+    private final AtomicLong usersFailed = new AtomicLong();
+    private final AtomicLong usersWithDrift = new AtomicLong();
+    private final AtomicLong rowsReplayed = new AtomicLong();
+    private final AtomicInteger reportedDrift = new AtomicInteger();
+    private final Queue<LedgerDrift> drift = new ConcurrentLinkedQueue<>();
+    private volatile String status = "RUNNING";
+    private volatile Instant finishedAt;
+
+    ReconciliationRun(boolean full, Instant startedAt, Instant cutoff, int maxReportedDrift) {
+        this.full = full;
+        this.startedAt = startedAt;
+        this.cutoff = cutoff;
+        this.maxReportedDrift = maxReportedDrift;
+    }
+
+    boolean full() {
+        return full;
+    }
+
+    Instant cutoff() {
+        return cutoff;
+    }
+
+    void usersTotal(long total) {
+        usersTotal.set(total);
+    }
+
+    void checked(long rows, List<LedgerDrift> userDrift) {
+        usersChecked.incrementAndGet();
+        rowsReplayed.addAndGet(rows);
+        if (!userDrift.isEmpty()) {
+            usersWithDrift.incrementAndGet();
+            for (LedgerDrift d : userDrift) {
+                if (reportedDrift.incrementAndGet() <= maxReportedDrift) {
+                    drift.add(d);
+                }
+            }
+        }
+    }
+
+    void failed() {
+        usersFailed.incrementAndGet();
+    }
+
+    void finish(String finalStatus) {
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    ReconciliationReport toReport() {
+        return new ReconciliationReport(
+                status,
+                full,
+                startedAt,
+                finishedAt,
+                cutoff,
+                usersTotal.get(),
+                usersChecked.get(),
+                usersFailed.get(),
+                usersWithDrift.get(),
+                rowsReplayed.get(),
+                List.copyOf(drift)
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.moneytracker.reconciliation.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A stored total that disagrees with the transaction log, e.g. subject "wallet", field "balance".
+ */
+public record LedgerDrift(
+        Long userId,
+        String subject,
+        Long subjectId,
+        String field,
+        BigDecimal expected,
+        BigDecimal actual
+) {
+}
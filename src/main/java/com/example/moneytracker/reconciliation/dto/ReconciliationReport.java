@@ -0,0 +1,19 @@
+package com.example.moneytracker.reconciliation.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ReconciliationReport(
+        String status,
+        boolean full,
+        Instant startedAt,
+        Instant finishedAt,
+        Instant checkpointCutoff,
+        long usersTotal,
+        long usersChecked,
+        long usersFailed,
+        long usersWithDrift,
+        long rowsReplayed,
+        List<LedgerDrift> drift
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.moneytracker.replica;
+
+import com.example.moneytracker.cache.LedgerChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Users whose reads must stay on the primary because they wrote within the pin window. Pinned here
+ * after their own commits, and by the ETag interceptor when {@code users.ledger_changed_at} shows a
+ * recent write made through another instance.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Cache<Long, Boolean> pinned;
+
+    public ReadYourWrites(ReplicaProperties properties) {
+        this.pinned = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getPinWindow())
+                .build();
+    }
+
+    public void pin(Long userId) {
+        pinned.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isPinned(Long userId) {
+        return userId != null && pinned.getIfPresent(userId) != null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        pin(event.userId());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.moneytracker.replica;
+
+import com.example.moneytracker.security.CurrentUser;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Boot's single pool when {@code ledger.replica.url} is set. The application DataSource is a
+ * lazy proxy: JPA marks a {@code readOnly} transaction's connection read-only before its first statement,
+ * and the proxy then takes the physical connection from {@link ReplicaRoutingDataSource} instead of the
+ * primary. Writes, Flyway and non-transactional calls always use the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${ledger.replica.url:}'.isEmpty()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaMonitor replicaMonitor,
+                                 ReadYourWrites readYourWrites,
+                                 CurrentUser currentUser,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaMonitor, readYourWrites, currentUser, meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.moneytracker.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the replica connection pool and measures replication lag on it. Until the first successful
+ * measurement, and whenever the replica is unreachable, not receiving WAL, or behind by more than
+ * {@code ledger.replica.max-lag}, {@link #isUsable()} is false and reads stay on the primary.
+ * <p>
+ * Lag is measured against the primary, not from the replica alone: a standby whose WAL receiver has stopped
+ * has replayed everything it received and looks perfectly current to itself. Each check notes the primary's
+ * flushed WAL position and when it was seen; the lag is the age of the oldest noted position the replica
+ * has not replayed yet, so it is accurate to about one {@code lag-check-interval}.
+ */
+@Component
+@ConditionalOnExpression("!'${ledger.replica.url:}'.isEmpty()")
+public class ReplicaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    // Positions as byte offsets, so they compare as numbers
+    private static final String PRIMARY_SQL = "select pg_current_wal_flush_lsn() - '0/0'::pg_lsn";
+
+    // A server that is not in recovery is not a standby and counts as current
+    private static final String REPLICA_SQL = """
+            select pg_is_in_recovery() as standby,
+                   pg_last_wal_replay_lsn() - '0/0'::pg_lsn as replayed,
+                   exists (select 1 from pg_stat_wal_receiver) as receiving
+            """;
+
+    // Only grows while the replica is behind; past this the newest entry is overwritten instead
+    private static final int MAX_PENDING = 1024;
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate primaryJdbc;
+    private final double maxLagSeconds;
+    // Primary WAL positions not yet replayed on the replica, oldest first, with System.nanoTime() when seen
+    private final Deque<long[]> pending = new ArrayDeque<>();
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaMonitor(ReplicaProperties properties,
+                          DataSourceProperties primary,
+                          HikariDataSource primaryDataSource,
+                          MeterRegistry meterRegistry) {
+        if (properties.getMaxLag().compareTo(properties.getPinWindow()) >= 0) {
+            throw new IllegalStateException("ledger.replica.max-lag must be shorter than ledger.replica.pin-window");
+        }
+        this.maxLagSeconds = properties.getMaxLag().toNanos() / 1e9;
+
+        // No-arg constructor: the pool starts on first use, so a replica that is down does not stop startup
+        dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(properties.getUrl());
+        dataSource.setUsername(StringUtils.hasText(properties.getUsername()) ? properties.getUsername() : primary.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(properties.getPassword()) ? properties.getPassword() : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricRegistry(meterRegistry);
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.primaryJdbc = new JdbcTemplate(primaryDataSource);
+
+        TimeGauge.builder("db.replica.lag", this, TimeUnit.SECONDS, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica; NaN while it is unreachable")
+                .register(meterRegistry);
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isUsable() {
+        // NaN compares false
+        return lagSeconds < maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.replica.lag-check-interval:PT1S}")
+    public synchronized void measure() {
+        boolean wasUsable = isUsable();
+        String unusable;
+        try {
+            // Primary first: whatever it had flushed by now, the replica must have replayed to count as current
+            Long primaryLsn = primaryJdbc.queryForObject(PRIMARY_SQL, Long.class);
+            long seenAt = System.nanoTime();
+            unusable = jdbc.queryForObject(REPLICA_SQL, (rs, rowNum) -> {
+                if (!rs.getBoolean("standby")) {
+                    pending.clear();
+                    lagSeconds = 0;
+                    return null;
+                }
+                if (!rs.getBoolean("receiving")) {
+                    lagSeconds = Double.NaN;
+                    return "not receiving WAL from the primary";
+                }
+                lagSeconds = lagSeconds(primaryLsn, seenAt, rs.getLong("replayed"));
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            lagSeconds = Double.NaN;
+            unusable = "unreachable: " + ex.getMessage();
+        }
+        if (unusable != null) {
+            if (wasUsable) {
+                log.warn("Read replica {}, routing reads to the primary", unusable);
+            }
+            return;
+        }
+        if (wasUsable != isUsable()) {
+            log.info("Read replica {} (lag {} s)", isUsable() ? "in use" : "behind, routing reads to the primary", lagSeconds);
+        }
+    }
+
+    private double lagSeconds(long primaryLsn, long seenAt, long replayedLsn) {
+        long[] newest = pending.peekLast();
+        if (newest == null || primaryLsn > newest[0]) {
+            if (pending.size() >= MAX_PENDING) {
+                pending.removeLast();
+            }
+            pending.addLast(new long[]{primaryLsn, seenAt});
+        }
+        while (!pending.isEmpty() && pending.peekFirst()[0] <= replayedLsn) {
+            pending.removeFirst();
+        }
+        long[] oldest = pending.peekFirst();
+        return oldest == null ? 0 : (seenAt - oldest[1]) / 1e9;
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
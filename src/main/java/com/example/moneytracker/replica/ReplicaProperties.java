@@ -0,0 +1,93 @@
+package com.example.moneytracker.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "ledger.replica")
+public class ReplicaProperties {
+
+    /**
+     * JDBC URL of a streaming replica of the primary. Empty keeps every query on the primary.
+     */
+    private String url;
+
+    /**
+     * Defaults to the primary's credentials.
+     */
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * After a user's write, their reads stay on the primary this long. Must exceed {@link #maxLag}.
+     */
+    private Duration pinWindow = Duration.ofSeconds(5);
+
+    /**
+     * Above this measured replication lag every read goes to the primary.
+     */
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Duration getPinWindow() {
+        return pinWindow;
+    }
+
+    public void setPinWindow(Duration pinWindow) {
+        this.pinWindow = pinWindow;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getLagCheckInterval() {
+        return lagCheckInterval;
+    }
+
+    public void setLagCheckInterval(Duration lagCheckInterval) {
+        this.lagCheckInterval = lagCheckInterval;
+    }
+}
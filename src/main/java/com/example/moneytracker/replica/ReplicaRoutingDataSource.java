@@ -0,0 +1,57 @@
+package com.example.moneytracker.replica;
+
+import com.example.moneytracker.security.CurrentUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Picks the pool for a read-only connection: the replica, unless it is unusable or the current user is
+ * pinned to the primary by a recent write. Only consulted for read-only transactions; writes never get here.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaMonitor monitor;
+    private final ReadYourWrites readYourWrites;
+    private final CurrentUser currentUser;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    ReplicaRoutingDataSource(DataSource primary,
+                             ReplicaMonitor monitor,
+                             ReadYourWrites readYourWrites,
+                             CurrentUser currentUser,
+                             MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+        this.currentUser = currentUser;
+        this.primaryReads = readCounter(meterRegistry, "primary");
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, monitor.dataSource()));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (monitor.isUsable() && !readYourWrites.isPinned(currentUser.getUserId())) {
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        primaryReads.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("db.readonly.connections")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.moneytracker.security;
+
+import com.example.moneytracker.model.UserRole;
+import com.example.moneytracker.user.UserRepository;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Guards {@code /api/admin/**}: the caller's account must have {@code role = 'ADMIN'} in the users table.
+ * The role is read on every admin request rather than carried in the token, so nothing a client can sign up
+ * with grants it, and revoking it takes effect immediately.
+ */
+@Component
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final UserRepository userRepository;
+
+    public AdminAuthorizationManager(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        boolean admin = auth != null
+                && auth.getPrincipal() instanceof UserPrincipal principal
+                && userRepository.existsByIdAndRole(principal.getId(), UserRole.ADMIN);
+        return new AuthorizationDecision(admin);
+    }
+}
@@ -17,6 +17,7 @@ public class CorsConfig {
         config.setAllowedOrigins(corsProperties.getAllowedOrigins());
         config.setAllowedMethods(corsProperties.getAllowedMethods());
         config.setAllowedHeaders(corsProperties.getAllowedHeaders());
+        config.setExposedHeaders(corsProperties.getExposedHeaders());
         config.setMaxAge(corsProperties.getMaxAgeSeconds());
         config.setAllowCredentials(true);
 
@@ -22,7 +22,12 @@ public class CorsProperties {
     /**
      * Allowed headers (Authorization, Content-Type, etc).
      */
-    private List<String> allowedHeaders = List.of("Authorization", "Content-Type", "Accept");
+    private List<String> allowedHeaders = List.of("Authorization", "Content-Type", "Accept", "Idempotency-Key", "If-None-Match");
+
+    /**
+     * Response headers readable by browser clients (pagination cursor, etc).
+     */
+    private List<String> exposedHeaders = List.of("X-Next-Cursor", "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Retry-After", "ETag");
 
     /**
      * Max age for preflight cache (seconds).
@@ -53,6 +58,14 @@ public class CorsProperties {
         this.allowedHeaders = allowedHeaders;
     }
 
+    public List<String> getExposedHeaders() {
+        return exposedHeaders;
+    }
+
+    public void setExposedHeaders(List<String> exposedHeaders) {
+        this.exposedHeaders = exposedHeaders;
+    }
+
     public long getMaxAgeSeconds() {
         return maxAgeSeconds;
     }
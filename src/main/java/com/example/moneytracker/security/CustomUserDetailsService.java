@@ -2,16 +2,27 @@ package com.example.moneytracker.security;
 
 import com.example.moneytracker.user.User;
 import com.example.moneytracker.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Small cache for the optional per-request account check; see security.jwt.verify-user-exists.
+    // The API never edits or removes accounts, so an account removed out of band is noticed within five minutes.
+    private final Cache<Long, UserPrincipal> principalsById = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
     public CustomUserDetailsService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
@@ -24,9 +35,15 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
+        UserPrincipal cached = principalsById.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash());
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash());
+        principalsById.put(id, principal);
+        return principal;
     }
 }
 
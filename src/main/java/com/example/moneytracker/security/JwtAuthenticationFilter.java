@@ -1,5 +1,6 @@
 package com.example.moneytracker.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,20 +8,26 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
     private final CustomUserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   JwtProperties jwtProperties,
+                                   CustomUserDetailsService userDetailsService) {
         this.jwtService = jwtService;
+        this.jwtProperties = jwtProperties;
         this.userDetailsService = userDetailsService;
     }
 
@@ -37,15 +44,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        if (!jwtService.isTokenValid(token)) {
+        Optional<Claims> claims = jwtService.parseToken(token);
+        if (claims.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        Long userId = jwtService.extractUserId(token);
+        Long userId = Long.parseLong(claims.get().getSubject());
 
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserById(userId);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails;
+            try {
+                userDetails = principalFor(userId, claims.get());
+            } catch (UsernameNotFoundException ex) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
@@ -60,5 +74,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The signed claims already carry id and email, so by default no users query is needed.
+     */
+    private UserDetails principalFor(Long userId, Claims claims) {
+        if (jwtProperties.isVerifyUserExists()) {
+            return userDetailsService.loadUserById(userId);
+        }
+        return new UserPrincipal(userId, claims.get("email", String.class), null);
+    }
 }
 
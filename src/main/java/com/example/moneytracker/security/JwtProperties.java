@@ -8,13 +8,19 @@ public class JwtProperties {
 
     private final String secret;
     private final long expirationSeconds;
+    private final long verifiedTokenCacheSize;
+    private final boolean verifyUserExists;
 
     public JwtProperties(
             @Value("${security.jwt.secret}") String secret,
-            @Value("${security.jwt.expiration-seconds}") long expirationSeconds
+            @Value("${security.jwt.expiration-seconds}") long expirationSeconds,
+            @Value("${security.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize,
+            @Value("${security.jwt.verify-user-exists:false}") boolean verifyUserExists
     ) {
         this.secret = secret;
         this.expirationSeconds = expirationSeconds;
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        this.verifyUserExists = verifyUserExists;
     }
 
     public String getSecret() {
@@ -24,5 +30,13 @@ public class JwtProperties {
     public long getExpirationSeconds() {
         return expirationSeconds;
     }
+
+    public long getVerifiedTokenCacheSize() {
+        return verifiedTokenCacheSize;
+    }
+
+    public boolean isVerifyUserExists() {
+        return verifyUserExists;
+    }
 }
 
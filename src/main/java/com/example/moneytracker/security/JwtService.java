@@ -1,6 +1,10 @@
 package com.example.moneytracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,19 +14,34 @@ import org.springframework.stereotype.Service;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT generation and validation. Uses HS256 with a base64-encoded secret (256+ bits).
  * Generate a production secret: openssl rand -base64 64
+ * <p>
+ * The signing key and parser are built once. Verified tokens are cached until they expire,
+ * so a client reusing its token pays for the HMAC check only on first use.
  */
 @Service
 public class JwtService {
 
     private final JwtProperties properties;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
 
     public JwtService(JwtProperties properties) {
         this.properties = properties;
+        this.signingKey = createSigningKey(properties.getSecret());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedTokenCacheSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     public String generateToken(Long userId, String email) {
@@ -34,43 +53,58 @@ public class JwtService {
                 .claim("email", email)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiry))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Long extractUserId(String token) {
-        String subject = extractClaim(token, Claims::getSubject);
-        return Long.parseLong(subject);
-    }
-
-    public boolean isTokenValid(String token) {
+    /**
+     * Verifies signature and expiry at most once per token and returns its claims,
+     * or empty if the token is malformed, forged or expired.
+     */
+    public Optional<Claims> parseToken(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            Claims claims = extractAllClaims(token);
-            return !claims.getExpiration().before(new Date());
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null || claims.getSubject() == null) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (Exception ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
     /**
      * HS256 requires 256+ bits. Secret must be base64-encoded (e.g. from openssl rand -base64 64).
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(properties.getSecret());
+    private static Key createSigningKey(String secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
-}
 
+    /**
+     * Evicts a cached token at the moment the token itself stops being valid.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,54 +1,100 @@
 package com.example.moneytracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Optional rate limiting for auth endpoints to prevent brute-force and abuse.
- * In-memory, per-IP; for production consider Redis-based limiting.
+ * Token-bucket rate limiting for all /api traffic.
+ * Auth endpoints are limited per client IP; everything else per authenticated user (per IP if anonymous).
+ * Runs after JWT authentication so the user id is known. Buckets are lock-free and held in a
+ * size- and idle-bounded cache, so memory stays flat however many clients show up.
+ * In-memory, per instance; for a multi-instance deployment consider Redis-based limiting.
  */
 @Component
-@Order(-100)
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String API_PREFIX = "/api/";
     private static final String LOGIN_PATH = "/api/auth/login";
     private static final String REGISTER_PATH = "/api/auth/register";
-    private static final long WINDOW_MS = 60_000;
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
     private final RateLimitProperties rateLimitProperties;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter authRejections;
+    private final Counter apiRejections;
 
-    public RateLimitFilter(RateLimitProperties rateLimitProperties) {
+    public RateLimitFilter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
         this.rateLimitProperties = rateLimitProperties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.getMaxKeys())
+                .expireAfterAccess(rateLimitProperties.getIdleTimeout())
+                .build();
+        this.authRejections = rejectionCounter(meterRegistry, "auth");
+        this.apiRejections = rejectionCounter(meterRegistry, "api");
+        Gauge.builder("ratelimit.tracked.keys", buckets, Cache::estimatedSize)
+                .description("Clients currently holding a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String policy) {
+        return Counter.builder("ratelimit.rejections")
+                .description("Requests answered with 429 Too Many Requests")
+                .tag("policy", policy)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !rateLimitProperties.isEnabled() || path == null || !path.startsWith(API_PREFIX);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        if (!rateLimitProperties.isEnabled() || !isAuthRequest(request.getRequestURI())) {
-            filterChain.doFilter(request, response);
-            return;
-        }
+        String path = request.getRequestURI();
+        boolean authRequest = isAuthRequest(path);
+        int limit = authRequest
+                ? rateLimitProperties.getAuthRequestsPerMinute()
+                : rateLimitProperties.getApiRequestsPerMinute();
+        String key = authRequest ? "auth:" + clientIp(request) : clientKey(request);
+        int cost = Math.min(costOf(request, path), limit);
 
-        String key = clientKey(request);
-        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
-        boolean allowed = bucket.tryAcquire(rateLimitProperties.getAuthRequestsPerMinute(), WINDOW_MS);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(now));
+        long result = bucket.tryAcquire(cost, limit, WINDOW_NANOS, now);
 
-        if (!allowed) {
-            log.warn("Rate limit exceeded for {} on {}", key, request.getRequestURI());
+        response.setHeader("RateLimit-Limit", String.valueOf(limit));
+        response.setHeader("RateLimit-Remaining", String.valueOf(Math.max(result, 0)));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+
+        if (result < 0) {
+            log.warn("Rate limit exceeded for {} on {}", key, path);
+            (authRequest ? authRejections : apiRejections).increment();
+            response.setHeader("Retry-After", String.valueOf(toSeconds(-result)));
             response.setStatus(429); // Too Many Requests
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded. Try again later.\"}");
@@ -59,10 +105,48 @@ public class RateLimitFilter extends OncePerRequestFilter {
     }
 
     private boolean isAuthRequest(String path) {
-        return path != null && (path.startsWith(LOGIN_PATH) || path.startsWith(REGISTER_PATH));
+        return path.startsWith(LOGIN_PATH) || path.startsWith(REGISTER_PATH);
+    }
+
+    private int costOf(HttpServletRequest request, String path) {
+        for (RateLimitProperties.RouteCost route : rateLimitProperties.getRouteCosts()) {
+            boolean methodMatches = route.getMethod() == null || route.getMethod().isBlank()
+                    || route.getMethod().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && route.getPattern() != null && PATH_MATCHER.match(route.getPattern(), path)
+                    && acceptMatches(route.getAccept(), request.getHeader(HttpHeaders.ACCEPT))) {
+                return Math.max(route.getCost(), 1);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Only an explicitly named media type counts: a wildcard Accept gets the default representation.
+     */
+    private static boolean acceptMatches(String routeAccept, String acceptHeader) {
+        if (routeAccept == null || routeAccept.isBlank()) {
+            return true;
+        }
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return false;
+        }
+        try {
+            MediaType wanted = MediaType.parseMediaType(routeAccept);
+            return MediaType.parseMediaTypes(acceptHeader).stream().anyMatch(wanted::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
     }
 
     private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
         String xff = request.getHeader("X-Forwarded-For");
         if (xff != null && !xff.isBlank()) {
             return xff.split(",")[0].trim();
@@ -70,21 +154,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return request.getRemoteAddr() != null ? request.getRemoteAddr() : "unknown";
     }
 
-    private static final class Bucket {
-        private int count;
-        private long windowStartMs = System.currentTimeMillis();
-
-        synchronized boolean tryAcquire(int limit, long windowMs) {
-            long now = System.currentTimeMillis();
-            if (now - windowStartMs >= windowMs) {
-                count = 0;
-                windowStartMs = now;
-            }
-            if (count >= limit) {
-                return false;
-            }
-            count++;
-            return true;
-        }
+    private static long toSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
     }
 }
@@ -3,13 +3,41 @@ package com.example.moneytracker.security;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "security.rate-limit")
 public class RateLimitProperties {
 
     private boolean enabled = true;
+
+    /**
+     * Budget per client IP for /api/auth/login and /api/auth/register.
+     */
     private int authRequestsPerMinute = 10;
 
+    /**
+     * Budget per authenticated user (per IP when unauthenticated) for the rest of /api/**.
+     */
+    private int apiRequestsPerMinute = 600;
+
+    /**
+     * Upper bound on tracked clients; least recently seen keys are evicted first.
+     */
+    private long maxKeys = 1_000_000;
+
+    /**
+     * A key unseen for this long is dropped (its bucket would be full again by then anyway).
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Token cost per matching route; unmatched requests cost 1. First match wins.
+     */
+    private List<RouteCost> routeCosts = new ArrayList<>();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -25,4 +53,89 @@ public class RateLimitProperties {
     public void setAuthRequestsPerMinute(int authRequestsPerMinute) {
         this.authRequestsPerMinute = authRequestsPerMinute;
     }
+
+    public int getApiRequestsPerMinute() {
+        return apiRequestsPerMinute;
+    }
+
+    public void setApiRequestsPerMinute(int apiRequestsPerMinute) {
+        this.apiRequestsPerMinute = apiRequestsPerMinute;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public List<RouteCost> getRouteCosts() {
+        return routeCosts;
+    }
+
+    public void setRouteCosts(List<RouteCost> routeCosts) {
+        this.routeCosts = routeCosts;
+    }
+
+    public static class RouteCost {
+
+        /**
+         * HTTP method to match, or empty for any.
+         */
+        private String method;
+
+        /**
+         * Ant-style path pattern, e.g. /api/transactions/batch.
+         */
+        private String pattern;
+
+        /**
+         * Media type the request's Accept header must name explicitly, e.g. application/x-ndjson, or empty for
+         * any. Lets one path cost more when it is asked for a heavier representation.
+         */
+        private String accept;
+
+        private int cost = 1;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getAccept() {
+            return accept;
+        }
+
+        public void setAccept(String accept) {
+            this.accept = accept;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+
+        public void setCost(int cost) {
+            this.cost = cost;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.moneytracker.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time",
+ * updated with compare-and-set, so acquiring never blocks and never allocates.
+ * <p>
+ * A bucket of {@code capacity} tokens refilled at {@code capacity / period} admits a request of
+ * cost {@code c} when advancing the arrival time by {@code c} emission intervals keeps it within
+ * {@code period} of now.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return remaining whole tokens (>= 0) if admitted, or the negated nanos to wait before retrying
+     */
+    long tryAcquire(int cost, int capacity, long periodNanos, long nowNanos) {
+        long interval = periodNanos / capacity;
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, nowNanos) + cost * interval;
+            long ahead = newTat - nowNanos;
+            if (ahead > periodNanos) {
+                return -Math.max(1, ahead - periodNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return (periodNanos - ahead) / interval;
+            }
+        }
+    }
+
+    /**
+     * Nanos until the bucket is full again.
+     */
+    long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrivalNanos.get() - nowNanos);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.moneytracker.seed;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a synthetic dataset at startup into an empty database, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=seed --ledger.seed.transactions=5000000}.
+ */
+@Component
+@Profile("seed")
+public class LedgerSeedRunner implements ApplicationRunner {
+
+    private final LedgerSeeder seeder;
+
+    public LedgerSeedRunner(LedgerSeeder seeder) {
+        this.seeder = seeder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        seeder.seed();
+    }
+}
@@ -0,0 +1,410 @@
+package com.example.moneytracker.seed;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.summary.RollupBackfill;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a deterministic synthetic ledger and bulk-loads it with PostgreSQL {@code COPY}.
+ * <p>
+ * Transactions are spread over users with a Zipf distribution (a few power users, a long tail of
+ * light ones). Wallet balances and person_balances are computed from exactly the rows written, and
+ * reversals are linked through reversed_by_id, so the result passes the same invariants as data
+ * posted through the API. Everything is loaded in one database transaction into an empty schema,
+ * together with a reconciliation checkpoint per user; the monthly rollups are then rebuilt by
+ * {@link RollupBackfill}, so summaries and incremental reconciliation work on the seeded data at once.
+ */
+@Component
+@Profile("seed")
+public class LedgerSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSeeder.class);
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+    private static final String NULL = "\\N";
+
+    private static final TransactionType[] TYPES = {
+            TransactionType.EXPENSE, TransactionType.INCOME, TransactionType.TRANSFER,
+            TransactionType.RECEIVED, TransactionType.GIVEN
+    };
+    private static final int[] TYPE_WEIGHTS = {45, 15, 10, 15, 15};
+    private static final long[] MEDIAN_CENTS = {2_500, 150_000, 20_000, 5_000, 5_000};
+    private static final String[][] DESCRIPTIONS = {
+            {"Groceries", "Rent", "Fuel", "Dinner", "Utilities", "Subscription", "Pharmacy"},
+            {"Salary", "Freelance", "Refund", "Interest", "Bonus"},
+            {"Top up", "ATM withdrawal", "Savings"},
+            {"Repayment", "Split bill", "Gift"},
+            {"Loan", "Split bill", "Gift"}
+    };
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rahul", "Meera"
+    };
+    private static final long MAX_CENTS = 100_000_000;
+
+    private final DataSource dataSource;
+    private final RollupBackfill rollupBackfill;
+    private final SeedProperties properties;
+
+    public LedgerSeeder(DataSource dataSource, RollupBackfill rollupBackfill, SeedProperties properties) {
+        this.dataSource = dataSource;
+        this.rollupBackfill = rollupBackfill;
+        this.properties = properties;
+    }
+
+    public void seed() throws SQLException, IOException, InterruptedException {
+        if (properties.getUsers() <= 0 || properties.getMaxPeoplePerUser() <= 0) {
+            throw new IllegalArgumentException("ledger.seed.users and ledger.seed.max-people-per-user must be positive");
+        }
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                requireEmptyLedger(connection);
+                long rows = load(connection.unwrap(PGConnection.class), connection);
+                writeCheckpoints(connection, Instant.now());
+                resetIdentities(connection);
+                connection.commit();
+                log.info("Seeded {} users and {} transactions in {} s",
+                        properties.getUsers(), rows, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                // Fresh planner statistics so query plans on the seeded data are reproducible
+                statement.execute("analyze users, wallets, people, transactions, person_balances");
+            }
+        }
+        int failures = rollupBackfill.rebuildAll();
+        if (failures > 0) {
+            throw new IllegalStateException("Monthly rollup rebuild failed for " + failures + " seeded user(s)");
+        }
+    }
+
+    private void requireEmptyLedger(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select exists (select 1 from users)")) {
+            rs.next();
+            if (rs.getBoolean(1)) {
+                throw new IllegalStateException("Seeding requires an empty database; the users table has rows");
+            }
+        }
+    }
+
+    private long load(PGConnection pg, Connection connection) throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(properties.getRandomSeed());
+        int users = properties.getUsers();
+        Instant historyEnd = properties.getHistoryEnd();
+        Instant historyStart = historyEnd.minus(Duration.ofDays(properties.getHistoryDays()));
+        String createdAt = historyStart.minus(Duration.ofDays(1)).toString();
+
+        String passwordHash = properties.getPasswordHash();
+        try (Writer out = copyIn(pg, "users (id, email, password_hash, created_at)")) {
+            for (int u = 1; u <= users; u++) {
+                row(out, u, "user" + u + "@seed.local", passwordHash, createdAt);
+            }
+        }
+
+        // Wallet ids are 2u-1 (CASH) and 2u (ONLINE); balances are filled in once all rows are known
+        try (Writer out = copyIn(pg, "wallets (id, user_id, type, balance, created_at)")) {
+            for (int u = 1; u <= users; u++) {
+                row(out, cashWallet(u), u, "CASH", "0.00", createdAt);
+                row(out, onlineWallet(u), u, "ONLINE", "0.00", createdAt);
+            }
+        }
+
+        int[] firstPerson = new int[users + 2];
+        firstPerson[1] = 1;
+        try (Writer out = copyIn(pg, "people (id, user_id, name, phone, notes, created_at)")) {
+            for (int u = 1; u <= users; u++) {
+                int people = 1 + random.nextInt(properties.getMaxPeoplePerUser());
+                firstPerson[u + 1] = firstPerson[u] + people;
+                for (int id = firstPerson[u]; id < firstPerson[u + 1]; id++) {
+                    String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + (id - firstPerson[u] + 1);
+                    row(out, id, u, name, null, null, createdAt);
+                }
+            }
+        }
+        int totalPeople = firstPerson[users + 1] - 1;
+
+        long[] perUser = spreadOverUsers(random, users, properties.getTransactions(), properties.getUserSkew());
+        long[] walletCents = new long[users * 2 + 1];
+        long[] receivedCents = new long[totalPeople + 1];
+        long[] givenCents = new long[totalPeople + 1];
+        long[] lastTxId = new long[totalPeople + 1];
+        long spanSeconds = Duration.between(historyStart, historyEnd).toSeconds();
+        long nextId = 1;
+        long nextProgress = PROGRESS_INTERVAL;
+
+        try (Writer out = copyIn(pg, "transactions (id, user_id, person_id, from_wallet_id, to_wallet_id, amount, "
+                + "description, transaction_type, date, created_at, reversed_by_id, is_reversal)")) {
+            for (int u = 1; u <= users; u++) {
+                long count = perUser[u - 1];
+                int people = firstPerson[u + 1] - firstPerson[u];
+                long slotSeconds = Math.max(2, spanSeconds / Math.max(count, 1));
+                long written = 0;
+                for (long slot = 0; written < count; slot++) {
+                    int t = pickType(random);
+                    TransactionType type = TYPES[t];
+                    long cents = amountCents(random, t);
+                    String description = DESCRIPTIONS[t][random.nextInt(DESCRIPTIONS[t].length)];
+                    long wallet = random.nextInt(3) == 0 ? cashWallet(u) : onlineWallet(u);
+                    long other = wallet == cashWallet(u) ? onlineWallet(u) : cashWallet(u);
+                    Long person = null;
+                    long from = 0;
+                    long to = 0;
+                    switch (type) {
+                        case EXPENSE -> from = wallet;
+                        case INCOME -> to = wallet;
+                        case TRANSFER -> {
+                            from = wallet;
+                            to = other;
+                        }
+                        case RECEIVED -> {
+                            to = wallet;
+                            person = (long) firstPerson[u] + skewedIndex(random, people);
+                        }
+                        case GIVEN -> {
+                            from = wallet;
+                            person = (long) firstPerson[u] + skewedIndex(random, people);
+                        }
+                    }
+
+                    Instant date = historyStart.plusSeconds(slot * slotSeconds + random.nextLong(slotSeconds / 2));
+                    long id = nextId++;
+                    boolean reverse = written + 2 <= count && random.nextDouble() < properties.getReversalRate();
+                    row(out, id, u, person, walletOrNull(from), walletOrNull(to), cents(cents), description,
+                            type.name(), date.toString(), date.toString(), reverse ? id + 1 : null, false);
+                    post(walletCents, receivedCents, givenCents, lastTxId, type, from, to, person, cents, id);
+                    written++;
+
+                    if (reverse) {
+                        TransactionType reversalType = reversalOf(type);
+                        Instant reversedAt = date.plusSeconds(1 + random.nextLong(slotSeconds / 2));
+                        long reversalId = nextId++;
+                        row(out, reversalId, u, person, walletOrNull(to), walletOrNull(from), cents(cents),
+                                "REVERSAL of #" + id + " - " + description, reversalType.name(),
+                                reversedAt.toString(), reversedAt.toString(), null, true);
+                        post(walletCents, receivedCents, givenCents, lastTxId, reversalType, to, from, person, cents, reversalId);
+                        written++;
+                    }
+                    if (nextId > nextProgress) {
+                        log.info("Seeding: {} transactions written", nextId - 1);
+                        nextProgress += PROGRESS_INTERVAL;
+                    }
+                }
+            }
+        }
+
+        try (Writer out = copyIn(pg, "person_balances (person_id, user_id, received, given, net, last_tx_id, updated_at)")) {
+            String now = historyEnd.toString();
+            for (int u = 1; u <= users; u++) {
+                for (int p = firstPerson[u]; p < firstPerson[u + 1]; p++) {
+                    row(out, p, u, cents(receivedCents[p]), cents(givenCents[p]),
+                            cents(receivedCents[p] - givenCents[p]), lastTxId[p] == 0 ? null : lastTxId[p], now);
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create temp table seed_wallet_balances (wallet_id bigint primary key, "
+                    + "balance numeric(18, 2) not null) on commit drop");
+        }
+        try (Writer out = copyIn(pg, "seed_wallet_balances (wallet_id, balance)")) {
+            for (int w = 1; w < walletCents.length; w++) {
+                row(out, w, cents(walletCents[w]));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update wallets w set balance = s.balance "
+                    + "from seed_wallet_balances s where s.wallet_id = w.id");
+        }
+        return nextId - 1;
+    }
+
+    /**
+     * Checkpoints every user at {@code through}, as a reconciliation run would: balances of the rows created
+     * before it. The first reconciliation then replays only rows posted after seeding.
+     */
+    private void writeCheckpoints(Connection connection, Instant through) throws SQLException {
+        try (PreparedStatement checkpoints = connection.prepareStatement(
+                "insert into ledger_checkpoints (user_id, through_created_at) select id, ? from users");
+             PreparedStatement wallets = connection.prepareStatement("""
+                     insert into ledger_checkpoint_wallets (wallet_id, user_id, balance)
+                     select leg.wallet_id, t.user_id, sum(leg.amount)
+                     from transactions t
+                              cross join lateral (values (t.to_wallet_id, t.amount), (t.from_wallet_id, -t.amount))
+                         as leg (wallet_id, amount)
+                     where leg.wallet_id is not null
+                       and t.created_at < ?
+                     group by leg.wallet_id, t.user_id
+                     """);
+             PreparedStatement people = connection.prepareStatement("""
+                     insert into ledger_checkpoint_people (person_id, user_id, received, given)
+                     select t.person_id,
+                            t.user_id,
+                            coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+                            coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0)
+                     from transactions t
+                     where t.person_id is not null
+                       and t.created_at < ?
+                     group by t.person_id, t.user_id
+                     """)) {
+            for (PreparedStatement statement : new PreparedStatement[]{checkpoints, wallets, people}) {
+                statement.setObject(1, through.atOffset(ZoneOffset.UTC));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Moves identity sequences past the explicitly assigned ids so API inserts don't collide.
+     */
+    private void resetIdentities(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"users", "wallets", "people", "transactions"}) {
+                statement.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(select max(id) from " + table + "))");
+            }
+        }
+    }
+
+    private static long[] spreadOverUsers(SplittableRandom random, int users, long total, double skew) {
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+            sum += weights[i];
+        }
+        long[] counts = new long[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (long) Math.floor(total * weights[i] / sum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < total; i = (i + 1) % users, assigned++) {
+            counts[i]++;
+        }
+        // Shuffle so power users are not simply the lowest ids
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = counts[i];
+            counts[i] = counts[j];
+            counts[j] = tmp;
+        }
+        return counts;
+    }
+
+    private static int pickType(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < TYPE_WEIGHTS.length; i++) {
+            roll -= TYPE_WEIGHTS[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Log-normal amounts around a per-type median.
+     */
+    private static long amountCents(SplittableRandom random, int type) {
+        long cents = Math.round(MEDIAN_CENTS[type] * Math.exp(0.9 * random.nextGaussian()));
+        return Math.min(Math.max(cents, 1), MAX_CENTS);
+    }
+
+    /**
+     * Favours a user's first few contacts, like real ledgers where most activity is with a handful of people.
+     */
+    private static int skewedIndex(SplittableRandom random, int size) {
+        double u = random.nextDouble();
+        return (int) (size * u * u);
+    }
+
+    private static TransactionType reversalOf(TransactionType type) {
+        return switch (type) {
+            case RECEIVED -> TransactionType.GIVEN;
+            case GIVEN -> TransactionType.RECEIVED;
+            case EXPENSE -> TransactionType.INCOME;
+            case INCOME -> TransactionType.EXPENSE;
+            case TRANSFER -> TransactionType.TRANSFER;
+        };
+    }
+
+    private static void post(long[] walletCents, long[] receivedCents, long[] givenCents, long[] lastTxId,
+                             TransactionType type, long from, long to, Long person, long cents, long id) {
+        if (from != 0) {
+            walletCents[(int) from] -= cents;
+        }
+        if (to != 0) {
+            walletCents[(int) to] += cents;
+        }
+        if (person != null) {
+            int p = person.intValue();
+            if (type == TransactionType.RECEIVED) {
+                receivedCents[p] += cents;
+            } else if (type == TransactionType.GIVEN) {
+                givenCents[p] += cents;
+            }
+            lastTxId[p] = id;
+        }
+    }
+
+    private static long cashWallet(int userId) {
+        return 2L * userId - 1;
+    }
+
+    private static long onlineWallet(int userId) {
+        return 2L * userId;
+    }
+
+    private static Long walletOrNull(long walletId) {
+        return walletId == 0 ? null : walletId;
+    }
+
+    private static String cents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private static Writer copyIn(PGConnection pg, String target) throws SQLException {
+        PGCopyOutputStream copy = new PGCopyOutputStream(pg, "copy " + target + " from stdin", COPY_BUFFER_SIZE);
+        return new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes one row in COPY text format; generated values never contain tabs, newlines or backslashes.
+     */
+    private static void row(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write('\t');
+            }
+            out.write(values[i] == null ? NULL : values[i].toString());
+        }
+        out.write('\n');
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.moneytracker.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@Profile("seed")
+@ConfigurationProperties(prefix = "ledger.seed")
+public class SeedProperties {
+
+    /**
+     * Same seed and settings always produce the same dataset, ids included.
+     */
+    private long randomSeed = 42;
+
+    private int users = 5_000;
+
+    /**
+     * Total ledger rows to generate, reversals included.
+     */
+    private long transactions = 1_000_000;
+
+    /**
+     * Zipf exponent for spreading transactions over users; higher means a few heavier power users.
+     */
+    private double userSkew = 1.1;
+
+    private int maxPeoplePerUser = 20;
+
+    /**
+     * Share of original transactions that get reversed.
+     */
+    private double reversalRate = 0.02;
+
+    /**
+     * History spans {@code historyDays} up to this instant (fixed, so reruns match).
+     */
+    private Instant historyEnd = Instant.parse("2026-01-01T00:00:00Z");
+
+    private int historyDays = 3 * 365;
+
+    /**
+     * BCrypt hash of the login password shared by every generated user ({@code user<n>@seed.local}).
+     * Given precomputed rather than encoded at seed time, whose random salt would make every dataset differ;
+     * the default is {@code password123}.
+     */
+    private String passwordHash = "$2a$10$D.W7AQAW6./PkvHXjssO4OtKWdIkBnuMYkGiQ/DT8e1Ebhmu4CFzK";
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public double getUserSkew() {
+        return userSkew;
+    }
+
+    public void setUserSkew(double userSkew) {
+        this.userSkew = userSkew;
+    }
+
+    public int getMaxPeoplePerUser() {
+        return maxPeoplePerUser;
+    }
+
+    public void setMaxPeoplePerUser(int maxPeoplePerUser) {
+        this.maxPeoplePerUser = maxPeoplePerUser;
+    }
+
+    public double getReversalRate() {
+        return reversalRate;
+    }
+
+    public void setReversalRate(double reversalRate) {
+        this.reversalRate = reversalRate;
+    }
+
+    public Instant getHistoryEnd() {
+        return historyEnd;
+    }
+
+    public void setHistoryEnd(Instant historyEnd) {
+        this.historyEnd = historyEnd;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+}
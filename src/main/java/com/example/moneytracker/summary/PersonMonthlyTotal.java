@@ -0,0 +1,47 @@
+package com.example.moneytracker.summary;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Effective received/given totals with one person in one UTC month.
+ * Rows are only ever changed through the atomic statements in {@link PersonMonthlyTotalRepository}.
+ */
+@Entity
+@Table(
+        name = "person_monthly_totals",
+        indexes = {
+                @Index(name = "idx_person_monthly_totals_person", columnList = "person_id")
+        }
+)
+public class PersonMonthlyTotal {
+
+    @EmbeddedId
+    private PersonMonthlyTotalId id;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal received = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal given = BigDecimal.ZERO;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+
+    public PersonMonthlyTotalId getId() {
+        return id;
+    }
+
+    public BigDecimal getReceived() {
+        return received;
+    }
+
+    public BigDecimal getGiven() {
+        return given;
+    }
+
+    public long getTxCount() {
+        return txCount;
+    }
+}
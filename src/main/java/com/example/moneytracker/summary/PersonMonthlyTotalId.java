@@ -0,0 +1,57 @@
+package com.example.moneytracker.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class PersonMonthlyTotalId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * First day of the UTC month.
+     */
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(name = "person_id", nullable = false)
+    private Long personId;
+
+    protected PersonMonthlyTotalId() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PersonMonthlyTotalId that)) {
+            return false;
+        }
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(month, that.month)
+                && Objects.equals(personId, that.personId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, month, personId);
+    }
+}
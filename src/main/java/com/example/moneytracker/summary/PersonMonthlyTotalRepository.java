@@ -0,0 +1,79 @@
+package com.example.moneytracker.summary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PersonMonthlyTotalRepository extends JpaRepository<PersonMonthlyTotal, PersonMonthlyTotalId> {
+
+    @Query("""
+            select t.id.personId as personId,
+                   p.name        as name,
+                   sum(t.received) as received,
+                   sum(t.given)    as given,
+                   sum(t.txCount)  as txCount
+            from PersonMonthlyTotal t
+                     join Person p on p.id = t.id.personId
+            where t.id.userId = :userId
+              and t.id.month between :fromMonth and :toMonth
+            group by t.id.personId, p.name
+            order by p.name
+            """)
+    List<PersonRangeTotal> sumForUser(
+            @Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    @Modifying
+    @Query(value = """
+            insert into person_monthly_totals as p (user_id, month, person_id, received, given, tx_count)
+            values (:userId, :month, :personId, :received, :given, :txCount)
+            on conflict (user_id, month, person_id) do update
+                set received = p.received + excluded.received,
+                    given    = p.given + excluded.given,
+                    tx_count = p.tx_count + excluded.tx_count
+            """, nativeQuery = true)
+    void applyDelta(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("personId") Long personId,
+            @Param("received") BigDecimal received,
+            @Param("given") BigDecimal given,
+            @Param("txCount") long txCount
+    );
+
+    @Modifying
+    @Query(value = "delete from person_monthly_totals where user_id = :userId", nativeQuery = true)
+    int deleteForUser(@Param("userId") Long userId);
+
+    /**
+     * Same contract as {@link WalletMonthlyTotalRepository#rebuildForUser}.
+     */
+    @Modifying
+    @Query(value = """
+            insert into person_monthly_totals as p (user_id, month, person_id, received, given, tx_count)
+            select t.user_id,
+                   date_trunc('month', t.date at time zone 'UTC')::date,
+                   t.person_id,
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+                   coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+                   count(*)
+            from transaction_history t
+            where t.user_id = :userId
+              and t.person_id is not null
+              and not t.is_reversal
+              and t.reversed_by_id is null
+            group by 1, 2, 3
+            on conflict (user_id, month, person_id) do update
+                set received = excluded.received,
+                    given    = excluded.given,
+                    tx_count = excluded.tx_count
+            """, nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,19 @@
+package com.example.moneytracker.summary;
+
+import java.math.BigDecimal;
+
+/**
+ * A person's monthly rollups summed over a month range.
+ */
+public interface PersonRangeTotal {
+
+    Long getPersonId();
+
+    String getName();
+
+    BigDecimal getReceived();
+
+    BigDecimal getGiven();
+
+    Long getTxCount();
+}
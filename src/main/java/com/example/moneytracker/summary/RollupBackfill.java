@@ -0,0 +1,104 @@
+package com.example.moneytracker.summary;
+
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds the monthly rollups from the transaction log, one user per database transaction,
+ * several users at a time.
+ * <p>
+ * Safe while the API is taking writes: each user's rebuild first row-locks that user's wallets, which
+ * every posting updates before it touches the rollups. Postings already in flight commit first and are
+ * read from the log; later ones wait until the rebuilt rows are committed and then add onto them.
+ * The one gap is a wallet created after the lock is taken: a posting to it that commits while the
+ * rebuild's insert runs can be left out, and rebuilding that user again corrects it.
+ */
+@Service
+public class RollupBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupBackfill.class);
+
+    private final WalletMonthlyTotalRepository walletMonthlyTotalRepository;
+    private final PersonMonthlyTotalRepository personMonthlyTotalRepository;
+    private final UserRepository userRepository;
+    private final WalletRepository walletRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int threads;
+
+    public RollupBackfill(WalletMonthlyTotalRepository walletMonthlyTotalRepository,
+                          PersonMonthlyTotalRepository personMonthlyTotalRepository,
+                          UserRepository userRepository,
+                          WalletRepository walletRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${ledger.maintenance.rollup-threads:4}") int threads) {
+        this.walletMonthlyTotalRepository = walletMonthlyTotalRepository;
+        this.personMonthlyTotalRepository = personMonthlyTotalRepository;
+        this.userRepository = userRepository;
+        this.walletRepository = walletRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = Math.max(1, threads);
+    }
+
+    public void rebuildUser(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            walletRepository.lockAllForUser(userId);
+            walletMonthlyTotalRepository.deleteForUser(userId);
+            personMonthlyTotalRepository.deleteForUser(userId);
+            walletMonthlyTotalRepository.rebuildForUser(userId);
+            personMonthlyTotalRepository.rebuildForUser(userId);
+        });
+    }
+
+    /**
+     * @return number of users whose rebuild failed (each failure is logged and the rest continue)
+     */
+    public int rebuildAll() throws InterruptedException {
+        List<Long> userIds = userRepository.findAllIds();
+        log.info("Rebuilding monthly rollups for {} user(s) on {} thread(s)", userIds.size(), threads);
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = userIds.stream()
+                    .<Future<?>>map(userId -> executor.submit(() -> {
+                        try {
+                            rebuildUser(userId);
+                        } catch (RuntimeException ex) {
+                            failed.incrementAndGet();
+                            log.error("Rollup rebuild failed for user {}", userId, ex);
+                        }
+                        int n = done.incrementAndGet();
+                        if (n % 1_000 == 0) {
+                            log.info("Rebuilt rollups for {}/{} user(s)", n, userIds.size());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    failed.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Monthly rollup rebuild finished: {} user(s), {} failure(s)", userIds.size(), failed.get());
+        return failed.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.moneytracker.summary;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the monthly rollups at startup, e.g.
+ * {@code java -jar app.jar --ledger.maintenance.rollups=rebuild}.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.maintenance.rollups")
+public class RollupBackfillRunner implements ApplicationRunner {
+
+    private final RollupBackfill backfill;
+    private final String mode;
+
+    public RollupBackfillRunner(RollupBackfill backfill,
+                                @Value("${ledger.maintenance.rollups}") String mode) {
+        this.backfill = backfill;
+        this.mode = mode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!"rebuild".equals(mode)) {
+            throw new IllegalArgumentException("ledger.maintenance.rollups must be 'rebuild', got: " + mode);
+        }
+        int failures = backfill.rebuildAll();
+        if (failures > 0) {
+            throw new IllegalStateException("Monthly rollup rebuild failed for " + failures + " user(s)");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.moneytracker.summary;
+
+import com.example.moneytracker.summary.dto.SummaryResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/summary")
+public class SummaryController {
+
+    private final SummaryService summaryService;
+
+    public SummaryController(SummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    /**
+     * Monthly totals for an inclusive month range, e.g. {@code ?from=2025-01&to=2025-12}.
+     */
+    @GetMapping
+    public SummaryResponse getSummary(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        return summaryService.getSummary(from, to);
+    }
+}
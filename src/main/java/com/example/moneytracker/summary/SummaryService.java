@@ -0,0 +1,137 @@
+package com.example.moneytracker.summary;
+
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.security.CurrentUser;
+import com.example.moneytracker.summary.dto.MonthlySummary;
+import com.example.moneytracker.summary.dto.PersonRangeSummary;
+import com.example.moneytracker.summary.dto.SummaryResponse;
+import com.example.moneytracker.summary.dto.SummaryTotals;
+import com.example.moneytracker.summary.dto.WalletSummary;
+import com.example.moneytracker.wallet.Wallet;
+import com.example.moneytracker.wallet.WalletRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Income/expense analytics read from the monthly rollup tables instead of the transaction log,
+ * so the cost depends on the number of months, not the number of transactions.
+ */
+@Service
+public class SummaryService {
+
+    private static final int DEFAULT_MONTHS = 12;
+    private static final int MAX_MONTHS = 1200;
+
+    private final WalletMonthlyTotalRepository walletMonthlyTotalRepository;
+    private final PersonMonthlyTotalRepository personMonthlyTotalRepository;
+    private final WalletRepository walletRepository;
+    private final CurrentUser currentUser;
+
+    public SummaryService(WalletMonthlyTotalRepository walletMonthlyTotalRepository,
+                          PersonMonthlyTotalRepository personMonthlyTotalRepository,
+                          WalletRepository walletRepository,
+                          CurrentUser currentUser) {
+        this.walletMonthlyTotalRepository = walletMonthlyTotalRepository;
+        this.personMonthlyTotalRepository = personMonthlyTotalRepository;
+        this.walletRepository = walletRepository;
+        this.currentUser = currentUser;
+    }
+
+    private Long requireCurrentUserId() {
+        Long userId = currentUser.getUserId();
+        if (userId == null) {
+            throw new NoSuchElementException("No authenticated user");
+        }
+        return userId;
+    }
+
+    /**
+     * Totals for the inclusive UTC month range; defaults to the last twelve months.
+     * Every month in the range is listed, including empty ones.
+     */
+    @Transactional(readOnly = true)
+    public SummaryResponse getSummary(YearMonth from, YearMonth to) {
+        Long userId = requireCurrentUserId();
+        YearMonth end = to != null ? to : YearMonth.now(ZoneOffset.UTC);
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (start.plusMonths(MAX_MONTHS).isBefore(end)) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_MONTHS + " months");
+        }
+
+        Map<Long, WalletType> walletTypes = walletRepository.findAllByUser_Id(userId).stream()
+                .collect(Collectors.toMap(Wallet::getId, Wallet::getType));
+
+        TreeMap<YearMonth, Totals> byMonth = new TreeMap<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            byMonth.put(month, new Totals());
+        }
+        Totals overall = new Totals();
+        Map<Long, BigDecimal[]> byWallet = new TreeMap<>();
+
+        for (WalletMonthlyTotal row : walletMonthlyTotalRepository.findForUser(userId, start.atDay(1), end.atDay(1))) {
+            YearMonth month = YearMonth.from(row.getId().getMonth());
+            byMonth.computeIfAbsent(month, m -> new Totals()).add(row);
+            overall.add(row);
+            BigDecimal[] flows = byWallet.computeIfAbsent(row.getId().getWalletId(),
+                    id -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            flows[0] = flows[0].add(row.getInflow());
+            flows[1] = flows[1].add(row.getOutflow());
+        }
+
+        List<MonthlySummary> months = new ArrayList<>(byMonth.size());
+        byMonth.forEach((month, totals) -> months.add(new MonthlySummary(month, totals.toDto())));
+
+        List<WalletSummary> wallets = new ArrayList<>(byWallet.size());
+        byWallet.forEach((walletId, flows) ->
+                wallets.add(new WalletSummary(walletId, walletTypes.get(walletId), flows[0], flows[1])));
+
+        List<PersonRangeSummary> people = personMonthlyTotalRepository
+                .sumForUser(userId, start.atDay(1), end.atDay(1)).stream()
+                .map(p -> new PersonRangeSummary(p.getPersonId(), p.getName(), p.getReceived(), p.getGiven(),
+                        p.getReceived().subtract(p.getGiven()), p.getTxCount()))
+                .toList();
+
+        return new SummaryResponse(start, end, overall.toDto(), months, wallets, people);
+    }
+
+    /**
+     * Mutable accumulator; a posting's amount is read from the leg that carries it
+     * (inflow for INCOME/RECEIVED, outflow for EXPENSE/GIVEN/TRANSFER).
+     */
+    private static final class Totals {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private BigDecimal received = BigDecimal.ZERO;
+        private BigDecimal given = BigDecimal.ZERO;
+        private BigDecimal transferred = BigDecimal.ZERO;
+        private long count;
+
+        void add(WalletMonthlyTotal row) {
+            switch (row.getId().getTransactionType()) {
+                case INCOME -> income = income.add(row.getInflow());
+                case EXPENSE -> expense = expense.add(row.getOutflow());
+                case RECEIVED -> received = received.add(row.getInflow());
+                case GIVEN -> given = given.add(row.getOutflow());
+                case TRANSFER -> transferred = transferred.add(row.getOutflow());
+            }
+            count += row.getTxCount();
+        }
+
+        SummaryTotals toDto() {
+            return new SummaryTotals(income, expense, received, given, transferred, count);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.moneytracker.summary;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Effective money moved through one wallet by one transaction type in one UTC month.
+ * Rows are only ever changed through the atomic statements in {@link WalletMonthlyTotalRepository}.
+ */
+@Entity
+@Table(name = "wallet_monthly_totals")
+public class WalletMonthlyTotal {
+
+    @EmbeddedId
+    private WalletMonthlyTotalId id;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal inflow = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal outflow = BigDecimal.ZERO;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+
+    public WalletMonthlyTotalId getId() {
+        return id;
+    }
+
+    public BigDecimal getInflow() {
+        return inflow;
+    }
+
+    public BigDecimal getOutflow() {
+        return outflow;
+    }
+
+    public long getTxCount() {
+        return txCount;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.moneytracker.summary;
+
+import com.example.moneytracker.model.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class WalletMonthlyTotalId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * First day of the UTC month.
+     */
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(name = "wallet_id", nullable = false)
+    private Long walletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    protected WalletMonthlyTotalId() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public Long getWalletId() {
+        return walletId;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WalletMonthlyTotalId that)) {
+            return false;
+        }
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(month, that.month)
+                && Objects.equals(walletId, that.walletId)
+                && transactionType == that.transactionType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, month, walletId, transactionType);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.moneytracker.summary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WalletMonthlyTotalRepository extends JpaRepository<WalletMonthlyTotal, WalletMonthlyTotalId> {
+
+    @Query("""
+            select w from WalletMonthlyTotal w
+            where w.id.userId = :userId
+              and w.id.month between :fromMonth and :toMonth
+            order by w.id.month
+            """)
+    List<WalletMonthlyTotal> findForUser(
+            @Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    /**
+     * Adds to (or creates) one rollup row in a single statement so concurrent postings never lose an update.
+     */
+    @Modifying
+    @Query(value = """
+            insert into wallet_monthly_totals as w (user_id, month, wallet_id, transaction_type, inflow, outflow, tx_count)
+            values (:userId, :month, :walletId, :type, :inflow, :outflow, :txCount)
+            on conflict (user_id, month, wallet_id, transaction_type) do update
+                set inflow   = w.inflow + excluded.inflow,
+                    outflow  = w.outflow + excluded.outflow,
+                    tx_count = w.tx_count + excluded.tx_count
+            """, nativeQuery = true)
+    void applyDelta(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("walletId") Long walletId,
+            @Param("type") String type,
+            @Param("inflow") BigDecimal inflow,
+            @Param("outflow") BigDecimal outflow,
+            @Param("txCount") long txCount
+    );
+
+    @Modifying
+    @Query(value = "delete from wallet_monthly_totals where user_id = :userId", nativeQuery = true)
+    int deleteForUser(@Param("userId") Long userId);
+
+    /**
+     * Recomputes a user's rows from the transaction log (after {@link #deleteForUser}); see
+     * V7__monthly_rollups.sql for the rules. Run it with the user's postings held off
+     * ({@link RollupBackfill#rebuildUser}); a conflicting row is replaced by the recomputed totals.
+     */
+    @Modifying
+    @Query(value = """
+            insert into wallet_monthly_totals as w (user_id, month, wallet_id, transaction_type, inflow, outflow, tx_count)
+            select t.user_id,
+                   date_trunc('month', t.date at time zone 'UTC')::date,
+                   leg.wallet_id,
+                   t.transaction_type,
+                   sum(leg.inflow),
+                   sum(leg.outflow),
+                   count(*) filter (where leg.counted)
+            from transaction_history t
+                     cross join lateral (values (t.to_wallet_id, t.amount, 0::numeric, t.from_wallet_id is null),
+                                                (t.from_wallet_id, 0::numeric, t.amount, true))
+                as leg (wallet_id, inflow, outflow, counted)
+            where t.user_id = :userId
+              and leg.wallet_id is not null
+              and not t.is_reversal
+              and t.reversed_by_id is null
+            group by 1, 2, 3, 4
+            on conflict (user_id, month, wallet_id, transaction_type) do update
+                set inflow   = excluded.inflow,
+                    outflow  = excluded.outflow,
+                    tx_count = excluded.tx_count
+            """, nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+}
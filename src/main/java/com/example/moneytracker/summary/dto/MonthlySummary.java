@@ -0,0 +1,9 @@
+package com.example.moneytracker.summary.dto;
+
+import java.time.YearMonth;
+
+public record MonthlySummary(
+        YearMonth month,
+        SummaryTotals totals
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.moneytracker.summary.dto;
+
+import java.math.BigDecimal;
+
+public record PersonRangeSummary(
+        Long personId,
+        String name,
+        BigDecimal received,
+        BigDecimal given,
+        BigDecimal net,
+        long transactionCount
+) {
+}
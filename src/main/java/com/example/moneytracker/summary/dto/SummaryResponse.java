@@ -0,0 +1,14 @@
+package com.example.moneytracker.summary.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record SummaryResponse(
+        YearMonth from,
+        YearMonth to,
+        SummaryTotals totals,
+        List<MonthlySummary> months,
+        List<WalletSummary> wallets,
+        List<PersonRangeSummary> people
+) {
+}
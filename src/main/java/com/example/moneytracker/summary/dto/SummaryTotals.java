@@ -0,0 +1,16 @@
+package com.example.moneytracker.summary.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Effective totals by transaction type; reversed postings and their reversals are left out.
+ */
+public record SummaryTotals(
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal received,
+        BigDecimal given,
+        BigDecimal transferred,
+        long transactionCount
+) {
+}
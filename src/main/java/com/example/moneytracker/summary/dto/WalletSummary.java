@@ -0,0 +1,13 @@
+package com.example.moneytracker.summary.dto;
+
+import com.example.moneytracker.model.WalletType;
+
+import java.math.BigDecimal;
+
+public record WalletSummary(
+        Long walletId,
+        WalletType walletType,
+        BigDecimal inflow,
+        BigDecimal outflow
+) {
+}
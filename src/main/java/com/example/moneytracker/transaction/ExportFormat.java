@@ -0,0 +1,38 @@
+package com.example.moneytracker.transaction;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+enum ExportFormat {
+
+    CSV(MediaType.parseMediaType(TransactionController.CSV_MEDIA_TYPE), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.wallet.Wallet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Net balance changes for one unit of work (a single posting or a whole import batch).
+ * Kept sorted by id so every writer locks wallet and person rows in the same order and
+ * two opposite transfers cannot deadlock.
+ */
+final class LedgerDeltas {
+
+    private final SortedMap<Long, BigDecimal> byWallet = new TreeMap<>();
+    private final SortedMap<Long, PersonDelta> byPerson = new TreeMap<>();
+    private final SortedMap<WalletMonth, WalletMonthDelta> byWalletMonth = new TreeMap<>();
+    private final SortedMap<PersonMonth, PersonMonthDelta> byPersonMonth = new TreeMap<>();
+
+    void credit(Wallet wallet, BigDecimal amount) {
+        byWallet.merge(wallet.getId(), amount, BigDecimal::add);
+    }
+
+    void debit(Wallet wallet, BigDecimal amount) {
+        byWallet.merge(wallet.getId(), amount.negate(), BigDecimal::add);
+    }
+
+    /**
+     * RECEIVED adds to the person's received total and GIVEN to given, so a reversal
+     * (which has the opposite type) nets the original out. Needs the persisted id.
+     */
+    void personMovement(Transaction tx) {
+        if (tx.getPerson() == null) {
+            return;
+        }
+        BigDecimal received = tx.getTransactionType() == TransactionType.RECEIVED ? tx.getAmount() : BigDecimal.ZERO;
+        BigDecimal given = tx.getTransactionType() == TransactionType.GIVEN ? tx.getAmount() : BigDecimal.ZERO;
+        byPerson.merge(tx.getPerson().getId(), new PersonDelta(received, given, tx.getId()), PersonDelta::plus);
+    }
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) a posting's effect on the monthly rollups.
+     * Reversal rows are never added; reversing subtracts the original from its own month instead.
+     */
+    void rollup(Transaction tx, int sign) {
+        BigDecimal amount = sign > 0 ? tx.getAmount() : tx.getAmount().negate();
+        LocalDate month = YearMonth.from(tx.getDate().atZone(ZoneOffset.UTC)).atDay(1);
+        TransactionType type = tx.getTransactionType();
+        if (tx.getToWallet() != null) {
+            long count = tx.getFromWallet() == null ? sign : 0;
+            byWalletMonth.merge(new WalletMonth(month, tx.getToWallet().getId(), type),
+                    new WalletMonthDelta(amount, BigDecimal.ZERO, count), WalletMonthDelta::plus);
+        }
+        if (tx.getFromWallet() != null) {
+            byWalletMonth.merge(new WalletMonth(month, tx.getFromWallet().getId(), type),
+                    new WalletMonthDelta(BigDecimal.ZERO, amount, sign), WalletMonthDelta::plus);
+        }
+        if (tx.getPerson() != null) {
+            BigDecimal received = type == TransactionType.RECEIVED ? amount : BigDecimal.ZERO;
+            BigDecimal given = type == TransactionType.GIVEN ? amount : BigDecimal.ZERO;
+            byPersonMonth.merge(new PersonMonth(month, tx.getPerson().getId()),
+                    new PersonMonthDelta(received, given, sign), PersonMonthDelta::plus);
+        }
+    }
+
+    Iterable<Map.Entry<Long, BigDecimal>> walletEntries() {
+        return byWallet.entrySet();
+    }
+
+    Iterable<Map.Entry<Long, PersonDelta>> personEntries() {
+        return byPerson.entrySet();
+    }
+
+    Iterable<Map.Entry<WalletMonth, WalletMonthDelta>> walletMonthEntries() {
+        return byWalletMonth.entrySet();
+    }
+
+    Iterable<Map.Entry<PersonMonth, PersonMonthDelta>> personMonthEntries() {
+        return byPersonMonth.entrySet();
+    }
+
+    record PersonDelta(BigDecimal received, BigDecimal given, Long lastTxId) {
+
+        PersonDelta plus(PersonDelta other) {
+            return new PersonDelta(
+                    received.add(other.received),
+                    given.add(other.given),
+                    Math.max(lastTxId, other.lastTxId)
+            );
+        }
+    }
+
+    record WalletMonth(LocalDate month, Long walletId, TransactionType type) implements Comparable<WalletMonth> {
+
+        private static final Comparator<WalletMonth> ORDER = Comparator.comparing(WalletMonth::month)
+                .thenComparing(WalletMonth::walletId)
+                .thenComparing(WalletMonth::type);
+
+        @Override
+        public int compareTo(WalletMonth other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    record WalletMonthDelta(BigDecimal inflow, BigDecimal outflow, long txCount) {
+
+        WalletMonthDelta plus(WalletMonthDelta other) {
+            return new WalletMonthDelta(inflow.add(other.inflow), outflow.add(other.outflow), txCount + other.txCount);
+        }
+    }
+
+    record PersonMonth(LocalDate month, Long personId) implements Comparable<PersonMonth> {
+
+        private static final Comparator<PersonMonth> ORDER = Comparator.comparing(PersonMonth::month)
+                .thenComparing(PersonMonth::personId);
+
+        @Override
+        public int compareTo(PersonMonth other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    record PersonMonthDelta(BigDecimal received, BigDecimal given, long txCount) {
+
+        PersonMonthDelta plus(PersonMonthDelta other) {
+            return new PersonMonthDelta(received.add(other.received), given.add(other.given), txCount + other.txCount);
+        }
+    }
+}
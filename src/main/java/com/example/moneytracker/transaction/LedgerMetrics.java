@@ -0,0 +1,72 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Ledger posting meters: latency per transaction type, reversals and imported rows.
+ * <p>
+ * Called from inside the posting's database transaction, but recorded when it completes: a posting
+ * counts as a success, a reversal or an imported row only once the commit went through.
+ */
+@Component
+class LedgerMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter importedRows;
+
+    LedgerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.importedRows = Counter.builder("ledger.transactions.imported")
+                .description("Transactions created through batch import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times a create from now until its transaction commits ({@code success}) or rolls back ({@code failure}).
+     */
+    void timeCreate(TransactionType type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        afterCompletion(committed -> sample.stop(Timer.builder("ledger.transactions.create")
+                .description("Time to validate, post and commit one transaction")
+                .tag("type", type != null ? type.name() : "UNKNOWN")
+                .tag("outcome", committed ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)));
+    }
+
+    void reversed(TransactionType originalType) {
+        afterCompletion(committed -> {
+            if (committed) {
+                meterRegistry.counter("ledger.transactions.reversed", "type", originalType.name()).increment();
+            }
+        });
+    }
+
+    void imported(int rows) {
+        afterCompletion(committed -> {
+            if (committed) {
+                importedRows.increment(rows);
+            }
+        });
+    }
+
+    private static void afterCompletion(Consumer<Boolean> record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger metrics must be recorded inside a transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                record.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
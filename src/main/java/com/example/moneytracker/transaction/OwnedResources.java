@@ -0,0 +1,16 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.person.Person;
+import com.example.moneytracker.wallet.Wallet;
+
+/**
+ * Resolves wallet and person ids referenced by a request to entities owned by the current user.
+ * Implementations throw {@link IllegalArgumentException} for unknown ids and
+ * {@link com.example.moneytracker.security.ResourceForbiddenException} for other users' resources.
+ */
+interface OwnedResources {
+
+    Wallet wallet(Long walletId);
+
+    Person person(Long personId);
+}
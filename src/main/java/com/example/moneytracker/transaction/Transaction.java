@@ -9,19 +9,22 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+// DDL is owned by the Flyway migrations in db/migration; the partial covering index lives only there.
 @Entity
 @Table(
         name = "transactions",
         indexes = {
-                @Index(name = "idx_transactions_user", columnList = "user_id"),
-                @Index(name = "idx_transactions_person", columnList = "person_id"),
-                @Index(name = "idx_transactions_date", columnList = "date")
+                @Index(name = "idx_transactions_user_date", columnList = "user_id, date desc, id desc"),
+                @Index(name = "idx_transactions_user_type_date", columnList = "user_id, transaction_type, date desc, id desc"),
+                @Index(name = "idx_transactions_person", columnList = "person_id")
         }
 )
 public class Transaction {
 
+    // Pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
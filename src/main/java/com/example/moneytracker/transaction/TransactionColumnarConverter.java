@@ -0,0 +1,289 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-only encoding of transaction pages for bandwidth-constrained clients, negotiated with
+ * {@code Accept: application/vnd.moneytracker.columnar}. Pagination is unchanged ({@code X-Next-Cursor}).
+ * <p>
+ * Every integer is a LEB128 varint, and signed ones are zigzag-encoded first. The layout is:
+ * <pre>
+ * version         1
+ * row count       n
+ * type dictionary count, then per type: UTF-8 byte length, name bytes ({@link TransactionType} order)
+ * id              n signed: the first id, then each id minus the previous one
+ * date            n signed: epoch microseconds, the first as is, then deltas from the previous row
+ * createdAt       n signed: epoch microseconds minus the same row's date
+ * amount          n signed: minor units (amount x 100)
+ * type            n unsigned: index into the type dictionary
+ * personId        n unsigned: 0 for none, otherwise the id
+ * fromWalletId    n unsigned: 0 for none, otherwise the id
+ * toWalletId      n unsigned: 0 for none, otherwise the id
+ * description     n unsigned: 0 for none, otherwise UTF-8 byte length + 1, followed by the bytes
+ * </pre>
+ * Columns are laid out one after another, so similar values sit together and compress well under gzip.
+ * {@link #decode} reads the format back.
+ */
+class TransactionColumnarConverter extends AbstractGenericHttpMessageConverter<List<TransactionResponse>> {
+
+    static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.moneytracker.columnar");
+    private static final int FORMAT_VERSION = 1;
+    private static final int AMOUNT_SCALE = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    TransactionColumnarConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Only {@code List<TransactionResponse>} qualifies; the raw-class check cannot see the element type.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == TransactionResponse.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<TransactionResponse> rows, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        OutputStream out = new BufferedOutputStream(outputMessage.getBody());
+        encode(rows, out);
+        out.flush();
+    }
+
+    static void encode(List<TransactionResponse> rows, OutputStream out) throws IOException {
+        writeUnsigned(out, FORMAT_VERSION);
+        writeUnsigned(out, rows.size());
+
+        writeUnsigned(out, TYPES.length);
+        for (TransactionType transactionType : TYPES) {
+            writeString(out, transactionType.name());
+        }
+
+        long previous = 0;
+        for (TransactionResponse row : rows) {
+            writeSigned(out, row.id() - previous);
+            previous = row.id();
+        }
+        previous = 0;
+        for (TransactionResponse row : rows) {
+            long date = epochMicros(row.date());
+            writeSigned(out, date - previous);
+            previous = date;
+        }
+        for (TransactionResponse row : rows) {
+            writeSigned(out, epochMicros(row.createdAt()) - epochMicros(row.date()));
+        }
+        for (TransactionResponse row : rows) {
+            writeSigned(out, minorUnits(row.amount()));
+        }
+        for (TransactionResponse row : rows) {
+            writeUnsigned(out, row.transactionType().ordinal());
+        }
+        for (TransactionResponse row : rows) {
+            writeOptionalId(out, row.personId());
+        }
+        for (TransactionResponse row : rows) {
+            writeOptionalId(out, row.fromWalletId());
+        }
+        for (TransactionResponse row : rows) {
+            writeOptionalId(out, row.toWalletId());
+        }
+        for (TransactionResponse row : rows) {
+            if (row.description() == null) {
+                writeUnsigned(out, 0);
+            } else {
+                byte[] bytes = row.description().getBytes(StandardCharsets.UTF_8);
+                writeUnsigned(out, bytes.length + 1L);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads back what {@link #encode} wrote; the reference for client implementations.
+     */
+    static List<TransactionResponse> decode(InputStream in) throws IOException {
+        int version = readInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported columnar format version " + version);
+        }
+        int n = readInt(in);
+        TransactionType[] dictionary = new TransactionType[readInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = TransactionType.valueOf(new String(readBytes(in, readInt(in)), StandardCharsets.UTF_8));
+        }
+
+        long[] ids = new long[n];
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += readSigned(in);
+            ids[i] = previous;
+        }
+        long[] dates = new long[n];
+        previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += readSigned(in);
+            dates[i] = previous;
+        }
+        long[] createdAts = new long[n];
+        for (int i = 0; i < n; i++) {
+            createdAts[i] = dates[i] + readSigned(in);
+        }
+        long[] amounts = new long[n];
+        for (int i = 0; i < n; i++) {
+            amounts[i] = readSigned(in);
+        }
+        TransactionType[] types = new TransactionType[n];
+        for (int i = 0; i < n; i++) {
+            types[i] = dictionary[readInt(in)];
+        }
+        Long[] personIds = readOptionalIds(in, n);
+        Long[] fromWalletIds = readOptionalIds(in, n);
+        Long[] toWalletIds = readOptionalIds(in, n);
+        String[] descriptions = new String[n];
+        for (int i = 0; i < n; i++) {
+            long length = readUnsigned(in);
+            descriptions[i] = length == 0 ? null : new String(readBytes(in, Math.toIntExact(length - 1)), StandardCharsets.UTF_8);
+        }
+
+        List<TransactionResponse> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rows.add(new TransactionResponse(ids[i], personIds[i], fromWalletIds[i], toWalletIds[i],
+                    BigDecimal.valueOf(amounts[i], AMOUNT_SCALE), types[i], descriptions[i],
+                    fromEpochMicros(dates[i]), fromEpochMicros(createdAts[i])));
+        }
+        return rows;
+    }
+
+    @Override
+    protected List<TransactionResponse> readInternal(Class<? extends List<TransactionResponse>> clazz,
+                                                     HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar encoding is response-only", inputMessage);
+    }
+
+    @Override
+    public List<TransactionResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar encoding is response-only", inputMessage);
+    }
+
+    private static long epochMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static Instant fromEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000);
+    }
+
+    private static Long[] readOptionalIds(InputStream in, int n) throws IOException {
+        Long[] ids = new Long[n];
+        for (int i = 0; i < n; i++) {
+            long id = readUnsigned(in);
+            ids[i] = id == 0 ? null : id;
+        }
+        return ids;
+    }
+
+    private static byte[] readBytes(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Columnar payload ends inside a string");
+        }
+        return bytes;
+    }
+
+    private static long readSigned(InputStream in) throws IOException {
+        long zigzag = readUnsigned(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static int readInt(InputStream in) throws IOException {
+        return Math.toIntExact(readUnsigned(in));
+    }
+
+    private static long readUnsigned(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Columnar payload ends inside a varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint longer than 64 bits");
+    }
+
+    private static void writeOptionalId(OutputStream out, Long id) throws IOException {
+        writeUnsigned(out, id != null ? id : 0);
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeSigned(OutputStream out, long value) throws IOException {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeUnsigned(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.moneytracker.transaction;
 
+import com.example.moneytracker.config.ConflictRetry;
+import com.example.moneytracker.idempotency.IdempotencyService;
 import com.example.moneytracker.model.TransactionType;
 import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.transaction.dto.BatchImportResponse;
 import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.transaction.dto.TransactionPage;
 import com.example.moneytracker.transaction.dto.TransactionResponse;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -17,26 +26,114 @@ import java.util.List;
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String CSV_MEDIA_TYPE = "text/csv";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionCsvReader csvReader;
+    private final ConflictRetry conflictRetry;
+    private final TransactionExporter exporter;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 IdempotencyService idempotencyService,
+                                 TransactionCsvReader csvReader,
+                                 ConflictRetry conflictRetry,
+                                 TransactionExporter exporter) {
         this.transactionService = transactionService;
+        this.idempotencyService = idempotencyService;
+        this.csvReader = csvReader;
+        this.conflictRetry = conflictRetry;
+        this.exporter = exporter;
     }
 
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody CreateTransactionRequest request) {
-        TransactionResponse response = transactionService.createTransaction(request);
+    public ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody CreateTransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        TransactionResponse response = conflictRetry.execute(() -> idempotencyService.execute(
+                idempotencyKey,
+                "create",
+                request,
+                () -> transactionService.createTransaction(request)
+        ));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchImportResponse> importTransactions(@RequestBody List<CreateTransactionRequest> requests) {
+        return toImportResponse(conflictRetry.execute(() -> transactionService.importTransactions(requests)));
+    }
+
+    @PostMapping(value = "/batch", consumes = CSV_MEDIA_TYPE)
+    public ResponseEntity<BatchImportResponse> importTransactionsCsv(InputStream body) {
+        List<CreateTransactionRequest> requests = csvReader.read(body);
+        return toImportResponse(conflictRetry.execute(() -> transactionService.importTransactions(requests)));
+    }
+
+    private static ResponseEntity<BatchImportResponse> toImportResponse(BatchImportResponse response) {
+        HttpStatus status = response.accepted() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @PostMapping("/{id}/reverse")
-    public ResponseEntity<TransactionResponse> reverseTransaction(@PathVariable("id") Long id) {
-        TransactionResponse response = transactionService.reverseTransaction(id);
+    public ResponseEntity<TransactionResponse> reverseTransaction(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        TransactionResponse response = conflictRetry.execute(() -> idempotencyService.execute(
+                idempotencyKey,
+                "reverse",
+                id,
+                () -> transactionService.reverseTransaction(id)
+        ));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
-    public List<TransactionResponse> listTransactions(
+    public ResponseEntity<List<TransactionResponse>> listTransactions(
+            @RequestParam(value = "wallet", required = false) WalletType wallet,
+            @RequestParam(value = "type", required = false) TransactionType type,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        TransactionPage page = transactionService.listTransactions(wallet, type, from, to, cursor, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+
+    /**
+     * Ranked search, best match first. Pages like {@link #listTransactions}: pass {@code X-Next-Cursor} back as {@code cursor}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionResponse>> searchTransactions(
+            @RequestParam("q") String q,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        TransactionPage page = transactionService.searchTransactions(q, cursor, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+
+    /**
+     * Same filters as {@link #listTransactions} but unpaginated: one JSON object per line, written as rows
+     * come off the database cursor. The body is the NDJSON export, without the attachment disposition.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
             @RequestParam(value = "wallet", required = false) WalletType wallet,
             @RequestParam(value = "type", required = false) TransactionType type,
             @RequestParam(value = "from", required = false)
@@ -44,7 +141,34 @@ public class TransactionController {
             @RequestParam(value = "to", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        return transactionService.listTransactions(wallet, type, from, to);
+        StreamingResponseBody body = outputStream ->
+                exporter.export(ExportFormat.NDJSON, wallet, type, from, to, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-}
 
+    /**
+     * Full-history download with the same filters as {@link #listTransactions}, as CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "wallet", required = false) WalletType wallet,
+            @RequestParam(value = "type", required = false) TransactionType type,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = outputStream -> exporter.export(exportFormat, wallet, type, from, to, outputStream);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("transactions." + exportFormat.extension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
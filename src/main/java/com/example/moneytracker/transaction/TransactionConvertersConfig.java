@@ -0,0 +1,19 @@
+package com.example.moneytracker.transaction;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class TransactionConvertersConfig implements WebMvcConfigurer {
+
+    /**
+     * Appended after the JSON converter so clients sending {@code Accept: *}{@code /*} still get JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TransactionColumnarConverter());
+    }
+}
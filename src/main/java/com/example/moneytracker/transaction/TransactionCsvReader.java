@@ -0,0 +1,43 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads batch imports from CSV with a header row naming {@link CreateTransactionRequest} fields,
+ * e.g. {@code transactionType,amount,fromWalletId,toWalletId,personId,description,date}.
+ * Empty cells are treated as absent.
+ */
+@Component
+public class TransactionCsvReader {
+
+    private final ObjectReader reader;
+
+    public TransactionCsvReader() {
+        CsvMapper mapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+        this.reader = mapper.readerFor(CreateTransactionRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    public List<CreateTransactionRequest> read(InputStream in) {
+        try (MappingIterator<CreateTransactionRequest> rows = reader.readValues(in)) {
+            return rows.readAll();
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Invalid CSV: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (date desc, id desc) ordering used by transaction listings.
+ * Encoded as URL-safe base64 so clients treat it as an opaque token.
+ */
+public record TransactionCursor(Instant date, Long id) {
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant date = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TransactionCursor(date, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static TransactionCursor after(TransactionResponse tx) {
+        return new TransactionCursor(tx.date(), tx.id());
+    }
+
+    public String encode() {
+        String raw = date.getEpochSecond() + ":" + date.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Writes a user's full filtered history as CSV or NDJSON straight off the database cursor.
+ * Memory stays constant: one row is materialised at a time, output is buffered and pushed to the
+ * client every {@value #FLUSH_INTERVAL_ROWS} rows, and a failed write (client gone) aborts the
+ * query instead of reading the rest of the cursor.
+ * <p>
+ * CSV text cells that a spreadsheet would evaluate as a formula (leading {@code =}, {@code +}, {@code -},
+ * {@code @}, tab or carriage return) are prefixed with a single quote, so an exported description cannot
+ * run as a formula when the file is opened.
+ */
+@Component
+class TransactionExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExporter.class);
+    private static final int FLUSH_INTERVAL_ROWS = 1_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionService transactionService;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+
+    TransactionExporter(TransactionService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.jsonWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new SimpleModule().addSerializer(String.class, new FormulaSafeStringSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .build();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("date")
+                .addColumn("transactionType")
+                .addColumn("amount")
+                .addColumn("fromWalletId")
+                .addColumn("toWalletId")
+                .addColumn("personId")
+                .addColumn("description")
+                .addColumn("createdAt")
+                .setUseHeader(true)
+                .build();
+        this.csvWriter = csvMapper.writerFor(TransactionResponse.class).with(schema);
+    }
+
+    void export(ExportFormat format,
+                WalletType walletType,
+                TransactionType type,
+                LocalDate from,
+                LocalDate to,
+                OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+        long[] rows = new long[1];
+        try (SequenceWriter writer = format == ExportFormat.CSV
+                ? csvWriter.writeValues(out)
+                : jsonWriter.withRootValueSeparator("\n").writeValues(out)) {
+            transactionService.streamTransactions(walletType, type, from, to, tx -> {
+                try {
+                    writer.write(tx);
+                    if (++rows[0] % FLUSH_INTERVAL_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (format == ExportFormat.NDJSON && rows[0] > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+        } catch (UncheckedIOException ex) {
+            log.debug("Transaction export aborted after {} row(s): {}", rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        out.flush();
+        log.info("Exported {} transaction(s) as {}", rows[0], format);
+    }
+
+    static String formulaSafe(String cell) {
+        if (cell.isEmpty()) {
+            return cell;
+        }
+        return switch (cell.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + cell;
+            default -> cell;
+        };
+    }
+
+    private static final class FormulaSafeStringSerializer extends StdSerializer<String> {
+
+        FormulaSafeStringSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(formulaSafe(value));
+        }
+    }
+}
@@ -2,33 +2,99 @@ package com.example.moneytracker.transaction;
 
 import com.example.moneytracker.model.TransactionType;
 import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    boolean existsByPerson_Id(Long personId);
+    /**
+     * Includes archived years, which still reference the person.
+     */
+    @Query(value = "select exists (select 1 from transaction_history where person_id = :personId)", nativeQuery = true)
+    boolean existsForPerson(@Param("personId") Long personId);
 
+    /**
+     * A row from an archived year, mapped onto the entity for reading only: changes to it must go through
+     * {@link #markArchivedReversed}, since flushing the entity would target the live table.
+     */
+    @Query(value = "select * from ledger_archive.transactions where id = :id and user_id = :userId",
+            nativeQuery = true)
+    Optional<Transaction> findArchived(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+            update ledger_archive.transactions
+            set reversed_by_id = :reversalId
+            where id = :id
+              and reversed_by_id is null
+            """, nativeQuery = true)
+    int markArchivedReversed(@Param("id") Long id, @Param("reversalId") Long reversalId);
+
+    @Modifying
     @Query("""
-            select coalesce(sum(t.amount), 0)
+            update Transaction t
+            set t.reversedBy = :reversal
+            where t.id = :id
+              and t.reversedBy is null
+            """)
+    int markReversed(@Param("id") Long id, @Param("reversal") Transaction reversal);
+
+    /**
+     * Selects straight into {@link TransactionResponse}: association ids come from the foreign-key columns,
+     * and no entity is hydrated or tracked by the persistence context.
+     */
+    @Query("""
+            select new com.example.moneytracker.transaction.dto.TransactionResponse(
+                t.id, t.person.id, t.fromWallet.id, t.toWallet.id,
+                t.amount, t.transactionType, t.description, t.date, t.createdAt)
             from Transaction t
+            left join t.fromWallet fw
+            left join t.toWallet tw
             where t.user.id = :userId
-              and t.person.id = :personId
-              and t.transactionType = :type
+              and (:type is null or t.transactionType = :type)
+              and t.date >= :fromDate
+              and t.date < :toDate
+              and (
+                :walletType is null
+                or (fw is not null and fw.type = :walletType)
+                or (tw is not null and tw.type = :walletType)
+              )
+              and (t.date < :cursorDate or (t.date = :cursorDate and t.id < :cursorId))
+            order by t.date desc, t.id desc
             """)
-    BigDecimal sumAmountByUserAndPersonAndType(
+    List<TransactionResponse> searchPageForUser(
             @Param("userId") Long userId,
-            @Param("personId") Long personId,
-            @Param("type") TransactionType type
+            @Param("type") TransactionType type,
+            @Param("walletType") WalletType walletType,
+            @Param("fromDate") Instant fromDate,
+            @Param("toDate") Instant toDate,
+            @Param("cursorDate") Instant cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
     );
 
+    /**
+     * Forward-only variant of {@link #searchPageForUser} for full-history streaming.
+     * Must be consumed inside a transaction so the driver honours the fetch size.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
-            select t
+            select new com.example.moneytracker.transaction.dto.TransactionResponse(
+                t.id, t.person.id, t.fromWallet.id, t.toWallet.id,
+                t.amount, t.transactionType, t.description, t.date, t.createdAt)
             from Transaction t
             left join t.fromWallet fw
             left join t.toWallet tw
@@ -43,12 +109,81 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
               )
             order by t.date desc, t.id desc
             """)
-    List<Transaction> searchForUser(
+    Stream<TransactionResponse> streamForUser(
             @Param("userId") Long userId,
             @Param("type") TransactionType type,
             @Param("walletType") WalletType walletType,
             @Param("fromDate") Instant fromDate,
             @Param("toDate") Instant toDate
     );
-}
 
+    /**
+     * Rows for {@link #searchHits} results, in no particular order.
+     */
+    @Query("""
+            select new com.example.moneytracker.transaction.dto.TransactionResponse(
+                t.id, t.person.id, t.fromWallet.id, t.toWallet.id,
+                t.amount, t.transactionType, t.description, t.date, t.createdAt)
+            from Transaction t
+            where t.id in :ids
+            """)
+    List<TransactionResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ranked matches for a free-text query, best first, keyset-paginated on (score desc, id desc).
+     * A row matches on any stemmed query word in its description, on a fuzzy match of the whole query
+     * inside the description, or through a person whose name appears in the query. Each branch is
+     * driven by its own index; rows matching several branches score higher.
+     */
+    @Query(value = """
+            with query as (
+                -- plainto_tsquery ANDs the words; OR them so "rent to Ravi" still matches "Rent" alone
+                select replace(plainto_tsquery('english', :q)::text, '&', '|')::tsquery as words
+            ),
+            matched_people as (
+                select p.id,
+                       greatest(word_similarity(p.name, :q), word_similarity(:q, p.name)) as similarity
+                from people p
+                where p.user_id = :userId
+                  and (p.name <% :q or :q <% p.name)
+            ),
+            candidates as (
+                select t.id
+                from transactions t, query
+                where t.user_id = :userId
+                  and to_tsvector('english', coalesce(t.description, '')) @@ query.words
+                union
+                select t.id
+                from transactions t
+                where t.user_id = :userId
+                  and :q <% t.description
+                union
+                select t.id
+                from transactions t
+                         join matched_people mp on mp.id = t.person_id
+                where t.user_id = :userId
+            ),
+            hits as (
+                select t.id,
+                       (ts_rank_cd(to_tsvector('english', coalesce(t.description, '')), query.words)
+                           + coalesce(word_similarity(:q, t.description), 0)
+                           + coalesce(mp.similarity, 0))::float8 as score
+                from candidates c
+                         join transactions t on t.id = c.id
+                         cross join query
+                         left join matched_people mp on mp.id = t.person_id
+            )
+            select id, score
+            from hits
+            where score < :cursorScore or (score = :cursorScore and id < :cursorId)
+            order by score desc, id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<TransactionSearchHit> searchHits(
+            @Param("userId") Long userId,
+            @Param("q") String q,
+            @Param("cursorScore") double cursorScore,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
+}
@@ -0,0 +1,35 @@
+package com.example.moneytracker.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (score desc, id desc) ordering of search results. Scores are recomputed
+ * identically for every page, so the exact double round-trips through the token.
+ */
+public record TransactionSearchCursor(double score, Long id) {
+
+    static final TransactionSearchCursor FIRST = new TransactionSearchCursor(Double.MAX_VALUE, Long.MAX_VALUE);
+
+    public static TransactionSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionSearchCursor(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static TransactionSearchCursor after(TransactionSearchHit hit) {
+        return new TransactionSearchCursor(hit.getScore(), hit.getId());
+    }
+
+    public String encode() {
+        String raw = score + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.moneytracker.transaction;
+
+/**
+ * One ranked match from {@link TransactionRepository#searchHits}.
+ */
+public interface TransactionSearchHit {
+
+    Long getId();
+
+    Double getScore();
+}
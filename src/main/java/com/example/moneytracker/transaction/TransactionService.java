@@ -1,19 +1,31 @@
 package com.example.moneytracker.transaction;
 
+import com.example.moneytracker.cache.LedgerChangedEvent;
 import com.example.moneytracker.model.TransactionType;
 import com.example.moneytracker.model.WalletType;
 import com.example.moneytracker.person.Person;
+import com.example.moneytracker.person.PersonBalanceRepository;
 import com.example.moneytracker.person.PersonRepository;
 import com.example.moneytracker.security.CurrentUser;
 import com.example.moneytracker.security.ResourceForbiddenException;
+import com.example.moneytracker.summary.PersonMonthlyTotalRepository;
+import com.example.moneytracker.summary.WalletMonthlyTotalRepository;
+import com.example.moneytracker.transaction.dto.BatchImportResponse;
+import com.example.moneytracker.transaction.dto.BatchRowResult;
 import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.transaction.dto.TransactionPage;
 import com.example.moneytracker.transaction.dto.TransactionResponse;
 import com.example.moneytracker.user.User;
 import com.example.moneytracker.user.UserRepository;
 import com.example.moneytracker.wallet.Wallet;
 import com.example.moneytracker.wallet.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,30 +33,64 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_ROWS = 50_000;
+    private static final int IMPORT_FLUSH_INTERVAL = 1_000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
     private final PersonRepository personRepository;
+    private final PersonBalanceRepository personBalanceRepository;
     private final UserRepository userRepository;
     private final CurrentUser currentUser;
+    private final EntityManager entityManager;
+    private final LedgerMetrics ledgerMetrics;
+    private final WalletMonthlyTotalRepository walletMonthlyTotalRepository;
+    private final PersonMonthlyTotalRepository personMonthlyTotalRepository;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
 
     public TransactionService(TransactionRepository transactionRepository,
                               WalletRepository walletRepository,
                               PersonRepository personRepository,
+                              PersonBalanceRepository personBalanceRepository,
                               UserRepository userRepository,
-                              CurrentUser currentUser) {
+                              CurrentUser currentUser,
+                              EntityManager entityManager,
+                              LedgerMetrics ledgerMetrics,
+                              WalletMonthlyTotalRepository walletMonthlyTotalRepository,
+                              PersonMonthlyTotalRepository personMonthlyTotalRepository,
+                              ApplicationEventPublisher events,
+                              Validator validator) {
         this.transactionRepository = transactionRepository;
         this.walletRepository = walletRepository;
         this.personRepository = personRepository;
+        this.personBalanceRepository = personBalanceRepository;
         this.userRepository = userRepository;
         this.currentUser = currentUser;
+        this.entityManager = entityManager;
+        this.ledgerMetrics = ledgerMetrics;
+        this.walletMonthlyTotalRepository = walletMonthlyTotalRepository;
+        this.personMonthlyTotalRepository = personMonthlyTotalRepository;
+        this.events = events;
+        this.validator = validator;
     }
 
     private Long requireCurrentUserId() {
@@ -55,35 +101,200 @@ public class TransactionService {
         return userId;
     }
 
+    /**
+     * Uninitialised proxy for the authenticated user: enough to set foreign keys without a users query.
+     */
     private User getCurrentUserEntity() {
-        Long userId = requireCurrentUserId();
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
+        return userRepository.getReferenceById(requireCurrentUserId());
     }
 
     private Wallet findOwnedWallet(Long walletId, Long userId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId));
+        return requireOwned(walletRepository.findById(walletId).orElse(null), walletId, userId);
+    }
+
+    private Person findOwnedPerson(Long personId, Long userId) {
+        return requireOwned(personRepository.findById(personId).orElse(null), personId, userId);
+    }
+
+    private static Wallet requireOwned(Wallet wallet, Long walletId, Long userId) {
+        if (wallet == null) {
+            throw new IllegalArgumentException("Wallet not found: " + walletId);
+        }
         if (!wallet.getUser().getId().equals(userId)) {
             throw new ResourceForbiddenException("Wallet does not belong to current user");
         }
         return wallet;
     }
 
-    private Person findOwnedPerson(Long personId, Long userId) {
-        Person person = personRepository.findById(personId)
-                .orElseThrow(() -> new IllegalArgumentException("Person not found: " + personId));
+    private static Person requireOwned(Person person, Long personId, Long userId) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person not found: " + personId);
+        }
         if (!person.getUser().getId().equals(userId)) {
             throw new ResourceForbiddenException("Person does not belong to current user");
         }
         return person;
     }
 
+    private OwnedResources loadOnDemand(Long userId) {
+        return new OwnedResources() {
+            @Override
+            public Wallet wallet(Long walletId) {
+                return findOwnedWallet(walletId, userId);
+            }
+
+            @Override
+            public Person person(Long personId) {
+                return findOwnedPerson(personId, userId);
+            }
+        };
+    }
+
+    /**
+     * Loads every wallet and person a batch refers to with one query each.
+     */
+    private OwnedResources preload(List<CreateTransactionRequest> requests, Long userId) {
+        Set<Long> walletIds = new HashSet<>();
+        Set<Long> personIds = new HashSet<>();
+        for (CreateTransactionRequest request : requests) {
+            if (request.fromWalletId() != null) {
+                walletIds.add(request.fromWalletId());
+            }
+            if (request.toWalletId() != null) {
+                walletIds.add(request.toWalletId());
+            }
+            if (request.personId() != null) {
+                personIds.add(request.personId());
+            }
+        }
+
+        Map<Long, Wallet> wallets = walletRepository.findAllById(walletIds).stream()
+                .collect(Collectors.toMap(Wallet::getId, Function.identity()));
+        Map<Long, Person> people = personRepository.findAllById(personIds).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+
+        return new OwnedResources() {
+            @Override
+            public Wallet wallet(Long walletId) {
+                return requireOwned(wallets.get(walletId), walletId, userId);
+            }
+
+            @Override
+            public Person person(Long personId) {
+                return requireOwned(people.get(personId), personId, userId);
+            }
+        };
+    }
+
     @Transactional
     public TransactionResponse createTransaction(CreateTransactionRequest request) {
+        ledgerMetrics.timeCreate(request != null ? request.transactionType() : null);
         User user = getCurrentUserEntity();
         Long userId = user.getId();
 
+        LedgerDeltas deltas = new LedgerDeltas();
+        Transaction tx = buildTransaction(request, user, loadOnDemand(userId), deltas);
+
+        applyWalletDeltas(deltas);
+        Transaction saved = transactionRepository.save(tx);
+        deltas.personMovement(saved);
+        deltas.rollup(saved, 1);
+        applyPersonDeltas(deltas);
+        applyRollupDeltas(deltas, userId);
+        events.publishEvent(new LedgerChangedEvent(userId));
+        log.info("Created transaction {} of type {} for user {}", saved.getId(), saved.getTransactionType(), userId);
+        return toResponse(saved);
+    }
+
+    /**
+     * All-or-nothing import: every row is validated against wallets and people loaded once for
+     * the whole batch, and nothing is written unless all rows are valid. Wallet and person
+     * balances receive one net update each; inserts go out in JDBC batches.
+     */
+    @Transactional
+    public BatchImportResponse importTransactions(List<CreateTransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one transaction");
+        }
+        if (requests.size() > MAX_BATCH_ROWS) {
+            throw new IllegalArgumentException("Batch must not exceed " + MAX_BATCH_ROWS + " transactions");
+        }
+
+        User user = getCurrentUserEntity();
+        Long userId = user.getId();
+        OwnedResources resources = preload(requests, userId);
+
+        LedgerDeltas deltas = new LedgerDeltas();
+        List<Transaction> txs = new ArrayList<>(requests.size());
+        List<BatchRowResult> errors = new ArrayList<>();
+        for (int row = 0; row < requests.size(); row++) {
+            String violations = violations(requests.get(row));
+            if (violations != null) {
+                errors.add(BatchRowResult.invalid(row, violations));
+                continue;
+            }
+            try {
+                txs.add(buildTransaction(requests.get(row), user, resources, deltas));
+            } catch (IllegalArgumentException | ResourceForbiddenException ex) {
+                errors.add(BatchRowResult.invalid(row, ex.getMessage()));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            log.info("Rejected import of {} transaction(s) for user {}: {} invalid row(s)",
+                    requests.size(), userId, errors.size());
+            return BatchImportResponse.rejected(requests.size(), errors);
+        }
+
+        applyWalletDeltas(deltas);
+
+        List<BatchRowResult> results = new ArrayList<>(txs.size());
+        for (int row = 0; row < txs.size(); row++) {
+            Transaction tx = txs.get(row);
+            entityManager.persist(tx);
+            deltas.personMovement(tx);
+            deltas.rollup(tx, 1);
+            results.add(BatchRowResult.created(row, tx.getId()));
+            if ((row + 1) % IMPORT_FLUSH_INTERVAL == 0) {
+                // Keep the persistence context small; wallets and people are only referenced by id from here on
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        applyPersonDeltas(deltas);
+        applyRollupDeltas(deltas, userId);
+        ledgerMetrics.imported(txs.size());
+        events.publishEvent(new LedgerChangedEvent(userId));
+        log.info("Imported {} transaction(s) for user {}", txs.size(), userId);
+        return BatchImportResponse.imported(results);
+    }
+
+    /**
+     * The same bean-validation rules {@code POST /api/transactions} applies through {@code @Valid}, so a batch row
+     * can never carry an amount the single-create path would refuse (e.g. more than two decimal places).
+     */
+    private String violations(CreateTransactionRequest request) {
+        if (request == null) {
+            return null;
+        }
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Transaction buildTransaction(CreateTransactionRequest request,
+                                         User user,
+                                         OwnedResources resources,
+                                         LedgerDeltas deltas) {
+        if (request == null) {
+            throw new IllegalArgumentException("Transaction is required");
+        }
         if (request.amount() == null || request.amount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
@@ -101,43 +312,135 @@ public class TransactionService {
         tx.setDate(request.date() != null ? request.date() : Instant.now());
 
         switch (type) {
-            case RECEIVED -> handleReceived(request, tx, userId);
-            case GIVEN -> handleGiven(request, tx, userId);
-            case EXPENSE -> handleExpense(request, tx, userId);
-            case INCOME -> handleIncome(request, tx, userId);
-            case TRANSFER -> handleTransfer(request, tx, userId);
+            case RECEIVED -> handleReceived(request, tx, resources, deltas);
+            case GIVEN -> handleGiven(request, tx, resources, deltas);
+            case EXPENSE -> handleExpense(request, tx, resources, deltas);
+            case INCOME -> handleIncome(request, tx, resources, deltas);
+            case TRANSFER -> handleTransfer(request, tx, resources, deltas);
             default -> throw new IllegalArgumentException("Unsupported transaction type: " + type);
         }
-
-        Transaction saved = transactionRepository.save(tx);
-        log.info("Created transaction {} of type {} for user {}", saved.getId(), saved.getTransactionType(), userId);
-        return toResponse(saved);
+        return tx;
     }
 
     @Transactional(readOnly = true)
-    public List<TransactionResponse> listTransactions(
+    public TransactionPage listTransactions(
             WalletType walletType,
             TransactionType type,
             LocalDate from,
-            LocalDate to
+            LocalDate to,
+            String cursor,
+            Integer limit
     ) {
         Long userId = requireCurrentUserId();
 
-        // Use sentinel values instead of null to avoid PostgreSQL "could not determine data type of parameter" error
-        Instant fromInstant = from != null ? from.atStartOfDay().toInstant(ZoneOffset.UTC) : Instant.EPOCH;
-        Instant toInstant = to != null ? to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC) : Instant.parse("2099-12-31T23:59:59Z");
+        Instant fromInstant = startOfRange(from);
+        Instant toInstant = endOfRange(to);
+        TransactionCursor position = cursor != null && !cursor.isBlank()
+                ? TransactionCursor.decode(cursor)
+                : new TransactionCursor(toInstant, Long.MAX_VALUE);
+        int pageSize = pageSize(limit);
 
-        List<Transaction> txs = transactionRepository.searchForUser(
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TransactionResponse> items = transactionRepository.searchPageForUser(
                 userId,
                 type,
                 walletType,
                 fromInstant,
-                toInstant
+                toInstant,
+                position.date(),
+                position.id(),
+                PageRequest.of(0, pageSize + 1)
         );
 
-        return txs.stream()
-                .map(this::toResponse)
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = TransactionCursor.after(items.get(pageSize - 1)).encode();
+        }
+        return new TransactionPage(items, nextCursor);
+    }
+
+    /**
+     * Ranked free-text search over descriptions and person names; see {@link TransactionRepository#searchHits}.
+     * Ids come back ranked from one query and the rows are loaded in a second, keeping the rank order.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage searchTransactions(String query, String cursor, Integer limit) {
+        Long userId = requireCurrentUserId();
+
+        String q = query != null ? query.strip() : "";
+        if (q.isEmpty()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must not exceed " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        TransactionSearchCursor position = cursor != null && !cursor.isBlank()
+                ? TransactionSearchCursor.decode(cursor)
+                : TransactionSearchCursor.FIRST;
+        int pageSize = pageSize(limit);
+
+        List<TransactionSearchHit> hits = transactionRepository.searchHits(
+                userId, q, position.score(), position.id(), pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            nextCursor = TransactionSearchCursor.after(hits.get(pageSize - 1)).encode();
+        }
+
+        Map<Long, TransactionResponse> rows = transactionRepository.findResponsesByIdIn(
+                        hits.stream().map(TransactionSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TransactionResponse::id, Function.identity()));
+        List<TransactionResponse> items = hits.stream()
+                .map(hit -> rows.get(hit.getId()))
                 .toList();
+        return new TransactionPage(items, nextCursor);
+    }
+
+    /**
+     * Pushes every matching transaction to {@code sink} as the JDBC cursor produces it. Rows are projected
+     * straight into responses, so nothing accumulates in the persistence context however long the history.
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactions(
+            WalletType walletType,
+            TransactionType type,
+            LocalDate from,
+            LocalDate to,
+            Consumer<TransactionResponse> sink
+    ) {
+        Long userId = requireCurrentUserId();
+
+        try (Stream<TransactionResponse> txs = transactionRepository.streamForUser(
+                userId,
+                type,
+                walletType,
+                startOfRange(from),
+                endOfRange(to)
+        )) {
+            txs.forEach(sink);
+        }
+    }
+
+    // Use sentinel values instead of null to avoid PostgreSQL "could not determine data type of parameter" error
+    private static Instant startOfRange(LocalDate from) {
+        return from != null ? from.atStartOfDay().toInstant(ZoneOffset.UTC) : Instant.EPOCH;
+    }
+
+    private static Instant endOfRange(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC) : Instant.parse("2099-12-31T23:59:59Z");
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
     @Transactional
@@ -145,8 +448,13 @@ public class TransactionService {
         User user = getCurrentUserEntity();
         Long userId = user.getId();
 
-        Transaction original = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new IllegalArgumentException("Transaction not found: " + transactionId));
+        Transaction original = transactionRepository.findById(transactionId).orElse(null);
+        // Archived years sit outside the mapped table but are ordinary rows that can still be marked reversed
+        boolean archived = original == null;
+        if (archived) {
+            original = transactionRepository.findArchived(transactionId, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Transaction not found: " + transactionId));
+        }
 
         if (!original.getUser().getId().equals(userId)) {
             throw new ResourceForbiddenException("Transaction does not belong to current user");
@@ -177,23 +485,74 @@ public class TransactionService {
         reversal.setDate(Instant.now());
         reversal.setReversal(true);
 
+        LedgerDeltas deltas = new LedgerDeltas();
         switch (original.getTransactionType()) {
-            case RECEIVED -> reverseReceived(original, reversal);
-            case GIVEN -> reverseGiven(original, reversal);
-            case EXPENSE -> reverseExpense(original, reversal);
-            case INCOME -> reverseIncome(original, reversal);
-            case TRANSFER -> reverseTransfer(original, reversal);
+            case RECEIVED -> reverseReceived(original, reversal, deltas);
+            case GIVEN -> reverseGiven(original, reversal, deltas);
+            case EXPENSE -> reverseExpense(original, reversal, deltas);
+            case INCOME -> reverseIncome(original, reversal, deltas);
+            case TRANSFER -> reverseTransfer(original, reversal, deltas);
         }
 
+        applyWalletDeltas(deltas);
         Transaction savedReversal = transactionRepository.save(reversal);
-        original.setReversedBy(savedReversal);
+        // Conditional update so two concurrent reversals of the same row cannot both succeed
+        int marked = archived
+                ? transactionRepository.markArchivedReversed(original.getId(), savedReversal.getId())
+                : transactionRepository.markReversed(original.getId(), savedReversal);
+        if (marked == 0) {
+            throw new IllegalArgumentException("Transaction is already reversed");
+        }
+        deltas.personMovement(savedReversal);
+        deltas.rollup(original, -1);
+        applyPersonDeltas(deltas);
+        applyRollupDeltas(deltas, userId);
+        ledgerMetrics.reversed(original.getTransactionType());
+        events.publishEvent(new LedgerChangedEvent(userId));
 
         log.info("Reversed transaction {} with new transaction {} for user {}", original.getId(), savedReversal.getId(), userId);
 
         return toResponse(savedReversal);
     }
 
-    private void reverseReceived(Transaction original, Transaction reversal) {
+    private void applyWalletDeltas(LedgerDeltas deltas) {
+        for (Map.Entry<Long, BigDecimal> entry : deltas.walletEntries()) {
+            if (entry.getValue().signum() == 0) {
+                continue;
+            }
+            if (walletRepository.applyBalanceDelta(entry.getKey(), entry.getValue()) == 0) {
+                throw new IllegalStateException("Wallet disappeared during posting: " + entry.getKey());
+            }
+        }
+    }
+
+    private void applyPersonDeltas(LedgerDeltas deltas) {
+        for (Map.Entry<Long, LedgerDeltas.PersonDelta> entry : deltas.personEntries()) {
+            LedgerDeltas.PersonDelta delta = entry.getValue();
+            int updated = personBalanceRepository.applyDelta(
+                    entry.getKey(), delta.received(), delta.given(), delta.lastTxId());
+            if (updated == 0) {
+                throw new IllegalStateException("Missing balance row for person " + entry.getKey());
+            }
+        }
+    }
+
+    private void applyRollupDeltas(LedgerDeltas deltas, Long userId) {
+        for (Map.Entry<LedgerDeltas.WalletMonth, LedgerDeltas.WalletMonthDelta> entry : deltas.walletMonthEntries()) {
+            LedgerDeltas.WalletMonth key = entry.getKey();
+            LedgerDeltas.WalletMonthDelta delta = entry.getValue();
+            walletMonthlyTotalRepository.applyDelta(userId, key.month(), key.walletId(), key.type().name(),
+                    delta.inflow(), delta.outflow(), delta.txCount());
+        }
+        for (Map.Entry<LedgerDeltas.PersonMonth, LedgerDeltas.PersonMonthDelta> entry : deltas.personMonthEntries()) {
+            LedgerDeltas.PersonMonth key = entry.getKey();
+            LedgerDeltas.PersonMonthDelta delta = entry.getValue();
+            personMonthlyTotalRepository.applyDelta(userId, key.month(), key.personId(),
+                    delta.received(), delta.given(), delta.txCount());
+        }
+    }
+
+    private void reverseReceived(Transaction original, Transaction reversal, LedgerDeltas deltas) {
         Person person = original.getPerson();
         Wallet toWallet = original.getToWallet();
         if (person == null || toWallet == null) {
@@ -203,11 +562,10 @@ public class TransactionService {
         reversal.setPerson(person);
         reversal.setFromWallet(toWallet);
 
-        BigDecimal newBalance = toWallet.getBalance().subtract(original.getAmount());
-        toWallet.setBalance(newBalance);
+        deltas.debit(toWallet, original.getAmount());
     }
 
-    private void reverseGiven(Transaction original, Transaction reversal) {
+    private void reverseGiven(Transaction original, Transaction reversal, LedgerDeltas deltas) {
         Person person = original.getPerson();
         Wallet fromWallet = original.getFromWallet();
         if (person == null || fromWallet == null) {
@@ -217,11 +575,10 @@ public class TransactionService {
         reversal.setPerson(person);
         reversal.setToWallet(fromWallet);
 
-        BigDecimal newBalance = fromWallet.getBalance().add(original.getAmount());
-        fromWallet.setBalance(newBalance);
+        deltas.credit(fromWallet, original.getAmount());
     }
 
-    private void reverseExpense(Transaction original, Transaction reversal) {
+    private void reverseExpense(Transaction original, Transaction reversal, LedgerDeltas deltas) {
         Wallet fromWallet = original.getFromWallet();
         if (fromWallet == null) {
             throw new IllegalStateException("Invalid EXPENSE transaction structure");
@@ -229,11 +586,10 @@ public class TransactionService {
 
         reversal.setToWallet(fromWallet);
 
-        BigDecimal newBalance = fromWallet.getBalance().add(original.getAmount());
-        fromWallet.setBalance(newBalance);
+        deltas.credit(fromWallet, original.getAmount());
     }
 
-    private void reverseIncome(Transaction original, Transaction reversal) {
+    private void reverseIncome(Transaction original, Transaction reversal, LedgerDeltas deltas) {
         Wallet toWallet = original.getToWallet();
         if (toWallet == null) {
             throw new IllegalStateException("Invalid INCOME transaction structure");
@@ -241,11 +597,10 @@ public class TransactionService {
 
         reversal.setFromWallet(toWallet);
 
-        BigDecimal newBalance = toWallet.getBalance().subtract(original.getAmount());
-        toWallet.setBalance(newBalance);
+        deltas.debit(toWallet, original.getAmount());
     }
 
-    private void reverseTransfer(Transaction original, Transaction reversal) {
+    private void reverseTransfer(Transaction original, Transaction reversal, LedgerDeltas deltas) {
         Wallet fromWallet = original.getFromWallet();
         Wallet toWallet = original.getToWallet();
         if (fromWallet == null || toWallet == null) {
@@ -259,11 +614,14 @@ public class TransactionService {
         BigDecimal amount = original.getAmount();
 
         // Undo original: original was fromWallet -= amount, toWallet += amount
-        toWallet.setBalance(toWallet.getBalance().subtract(amount));
-        fromWallet.setBalance(fromWallet.getBalance().add(amount));
+        deltas.debit(toWallet, amount);
+        deltas.credit(fromWallet, amount);
     }
 
-    private void handleReceived(CreateTransactionRequest request, Transaction tx, Long userId) {
+    private void handleReceived(CreateTransactionRequest request,
+                                Transaction tx,
+                                OwnedResources resources,
+                                LedgerDeltas deltas) {
         if (request.personId() == null) {
             throw new IllegalArgumentException("personId is required for RECEIVED");
         }
@@ -274,17 +632,19 @@ public class TransactionService {
             throw new IllegalArgumentException("fromWalletId must be null for RECEIVED");
         }
 
-        Person person = findOwnedPerson(request.personId(), userId);
-        Wallet toWallet = findOwnedWallet(request.toWalletId(), userId);
+        Person person = resources.person(request.personId());
+        Wallet toWallet = resources.wallet(request.toWalletId());
 
         tx.setPerson(person);
         tx.setToWallet(toWallet);
 
-        BigDecimal newBalance = toWallet.getBalance().add(request.amount());
-        toWallet.setBalance(newBalance);
+        deltas.credit(toWallet, request.amount());
     }
 
-    private void handleGiven(CreateTransactionRequest request, Transaction tx, Long userId) {
+    private void handleGiven(CreateTransactionRequest request,
+                             Transaction tx,
+                             OwnedResources resources,
+                             LedgerDeltas deltas) {
         if (request.personId() == null) {
             throw new IllegalArgumentException("personId is required for GIVEN");
         }
@@ -295,17 +655,19 @@ public class TransactionService {
             throw new IllegalArgumentException("toWalletId must be null for GIVEN");
         }
 
-        Person person = findOwnedPerson(request.personId(), userId);
-        Wallet fromWallet = findOwnedWallet(request.fromWalletId(), userId);
+        Person person = resources.person(request.personId());
+        Wallet fromWallet = resources.wallet(request.fromWalletId());
 
         tx.setPerson(person);
         tx.setFromWallet(fromWallet);
 
-        BigDecimal newBalance = fromWallet.getBalance().subtract(request.amount());
-        fromWallet.setBalance(newBalance);
+        deltas.debit(fromWallet, request.amount());
     }
 
-    private void handleExpense(CreateTransactionRequest request, Transaction tx, Long userId) {
+    private void handleExpense(CreateTransactionRequest request,
+                               Transaction tx,
+                               OwnedResources resources,
+                               LedgerDeltas deltas) {
         if (request.personId() != null) {
             throw new IllegalArgumentException("personId must be null for EXPENSE");
         }
@@ -316,14 +678,16 @@ public class TransactionService {
             throw new IllegalArgumentException("toWalletId must be null for EXPENSE");
         }
 
-        Wallet fromWallet = findOwnedWallet(request.fromWalletId(), userId);
+        Wallet fromWallet = resources.wallet(request.fromWalletId());
         tx.setFromWallet(fromWallet);
 
-        BigDecimal newBalance = fromWallet.getBalance().subtract(request.amount());
-        fromWallet.setBalance(newBalance);
+        deltas.debit(fromWallet, request.amount());
     }
 
-    private void handleIncome(CreateTransactionRequest request, Transaction tx, Long userId) {
+    private void handleIncome(CreateTransactionRequest request,
+                              Transaction tx,
+                              OwnedResources resources,
+                              LedgerDeltas deltas) {
         if (request.personId() != null) {
             throw new IllegalArgumentException("personId must be null for INCOME");
         }
@@ -334,14 +698,16 @@ public class TransactionService {
             throw new IllegalArgumentException("fromWalletId must be null for INCOME");
         }
 
-        Wallet toWallet = findOwnedWallet(request.toWalletId(), userId);
+        Wallet toWallet = resources.wallet(request.toWalletId());
         tx.setToWallet(toWallet);
 
-        BigDecimal newBalance = toWallet.getBalance().add(request.amount());
-        toWallet.setBalance(newBalance);
+        deltas.credit(toWallet, request.amount());
     }
 
-    private void handleTransfer(CreateTransactionRequest request, Transaction tx, Long userId) {
+    private void handleTransfer(CreateTransactionRequest request,
+                                Transaction tx,
+                                OwnedResources resources,
+                                LedgerDeltas deltas) {
         if (request.personId() != null) {
             throw new IllegalArgumentException("personId must be null for TRANSFER");
         }
@@ -352,14 +718,14 @@ public class TransactionService {
             throw new IllegalArgumentException("fromWalletId and toWalletId must be different for TRANSFER");
         }
 
-        Wallet fromWallet = findOwnedWallet(request.fromWalletId(), userId);
-        Wallet toWallet = findOwnedWallet(request.toWalletId(), userId);
+        Wallet fromWallet = resources.wallet(request.fromWalletId());
+        Wallet toWallet = resources.wallet(request.toWalletId());
 
         tx.setFromWallet(fromWallet);
         tx.setToWallet(toWallet);
 
-        fromWallet.setBalance(fromWallet.getBalance().subtract(request.amount()));
-        toWallet.setBalance(toWallet.getBalance().add(request.amount()));
+        deltas.debit(fromWallet, request.amount());
+        deltas.credit(toWallet, request.amount());
     }
 
     private TransactionResponse toResponse(Transaction tx) {
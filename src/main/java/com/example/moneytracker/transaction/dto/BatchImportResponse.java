@@ -0,0 +1,23 @@
+package com.example.moneytracker.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Result of a batch import. When {@code accepted} is false nothing was written and
+ * {@code rows} lists only the invalid rows.
+ */
+public record BatchImportResponse(
+        boolean accepted,
+        int submitted,
+        int imported,
+        List<BatchRowResult> rows
+) {
+
+    public static BatchImportResponse imported(List<BatchRowResult> rows) {
+        return new BatchImportResponse(true, rows.size(), rows.size(), rows);
+    }
+
+    public static BatchImportResponse rejected(int submitted, List<BatchRowResult> invalidRows) {
+        return new BatchImportResponse(false, submitted, 0, invalidRows);
+    }
+}
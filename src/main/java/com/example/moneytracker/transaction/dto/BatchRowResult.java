@@ -0,0 +1,20 @@
+package com.example.moneytracker.transaction.dto;
+
+/**
+ * Outcome of one row of a batch import; {@code row} is the zero-based position in the request.
+ */
+public record BatchRowResult(
+        int row,
+        String status,
+        Long transactionId,
+        String error
+) {
+
+    public static BatchRowResult created(int row, Long transactionId) {
+        return new BatchRowResult(row, "CREATED", transactionId, null);
+    }
+
+    public static BatchRowResult invalid(int row, String error) {
+        return new BatchRowResult(row, "INVALID", null, error);
+    }
+}
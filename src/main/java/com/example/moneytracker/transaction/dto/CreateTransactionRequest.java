@@ -2,7 +2,9 @@ package com.example.moneytracker.transaction.dto;
 
 import com.example.moneytracker.model.TransactionType;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -17,11 +19,14 @@ public record CreateTransactionRequest(
 
         @NotNull
         @DecimalMin(value = "0.01")
+        // Matches numeric(18, 2): a third decimal would be rounded per row but not in wallet deltas
+        @Digits(integer = 16, fraction = 2)
         BigDecimal amount,
 
         @NotNull
         TransactionType transactionType,
 
+        @Size(max = 255)
         String description,
 
         Instant date
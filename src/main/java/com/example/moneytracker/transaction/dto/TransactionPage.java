@@ -0,0 +1,9 @@
+package com.example.moneytracker.transaction.dto;
+
+import java.util.List;
+
+public record TransactionPage(
+        List<TransactionResponse> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.moneytracker.user;
+
+/**
+ * A user's ledger version, and whether it moved within the window passed to
+ * {@link UserRepository#findLedgerState}. The window is checked on the database clock.
+ */
+public interface LedgerState {
+
+    Long getVersion();
+
+    Boolean getRecentlyChanged();
+}
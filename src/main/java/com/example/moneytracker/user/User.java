@@ -1,5 +1,6 @@
 package com.example.moneytracker.user;
 
+import com.example.moneytracker.model.UserRole;
 import jakarta.persistence.*;
 
 import java.time.Instant;
@@ -23,6 +24,13 @@ public class User {
     @Column(nullable = false)
     private Instant createdAt;
 
+    /**
+     * Granted in the database only (see V13); never written back by entity updates.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private UserRole role = UserRole.USER;
+
     public User() {
     }
 
@@ -71,5 +79,9 @@ public class User {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public UserRole getRole() {
+        return role;
+    }
 }
 
@@ -1,7 +1,12 @@
 package com.example.moneytracker.user;
 
+import com.example.moneytracker.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -9,5 +14,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
-}
 
+    boolean existsByIdAndRole(Long id, UserRole role);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds();
+
+    /**
+     * Not mapped on {@link User} so entity saves can never write back a stale value.
+     */
+    @Query(value = """
+            select ledger_version as version,
+                   coalesce(ledger_changed_at > clock_timestamp() - :windowMillis * interval '1 millisecond', false)
+                       as recentlyChanged
+            from users
+            where id = :id
+            """, nativeQuery = true)
+    Optional<LedgerState> findLedgerState(@Param("id") Long id, @Param("windowMillis") long windowMillis);
+
+    /**
+     * Runs just before commit, so clock_timestamp() is close to the moment the write becomes visible.
+     */
+    @Modifying
+    @Query(value = """
+            update users
+            set ledger_version    = ledger_version + 1,
+                ledger_changed_at = clock_timestamp()
+            where id = :id
+            """, nativeQuery = true)
+    int bumpLedgerVersion(@Param("id") Long id);
+
+    /**
+     * For bulk repairs that bypass the services: every client refetches on its next poll.
+     */
+    @Modifying
+    @Query(value = "update users set ledger_version = ledger_version + 1, ledger_changed_at = clock_timestamp()",
+            nativeQuery = true)
+    int bumpAllLedgerVersions();
+}
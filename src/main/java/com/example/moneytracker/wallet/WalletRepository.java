@@ -2,7 +2,11 @@ package com.example.moneytracker.wallet;
 
 import com.example.moneytracker.model.WalletType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +17,26 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
     Optional<Wallet> findByUser_IdAndType(Long userId, WalletType type);
 
     boolean existsByUser_IdAndType(Long userId, WalletType type);
+
+    /**
+     * Applies a balance change in the database rather than read-modify-write in Java, so
+     * concurrent postings to one wallet serialize on the row lock and none is lost.
+     * Loaded {@link Wallet} instances are not refreshed and must not be used for their balance afterwards.
+     */
+    @Modifying
+    @Query("""
+            update Wallet w
+            set w.balance = w.balance + :delta,
+                w.version = w.version + 1
+            where w.id = :walletId
+            """)
+    int applyBalanceDelta(@Param("walletId") Long walletId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Row-locks all of a user's wallets in id order, the order postings lock them in, until the transaction ends.
+     * Postings for that user wait behind it, and it waits for postings already in flight.
+     */
+    @Query(value = "select id from wallets where user_id = :userId order by id for update", nativeQuery = true)
+    List<Long> lockAllForUser(@Param("userId") Long userId);
 }
 
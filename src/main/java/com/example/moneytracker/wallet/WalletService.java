@@ -1,5 +1,7 @@
 package com.example.moneytracker.wallet;
 
+import com.example.moneytracker.cache.LedgerChangedEvent;
+import com.example.moneytracker.cache.LedgerViewCache;
 import com.example.moneytracker.model.WalletType;
 import com.example.moneytracker.security.CurrentUser;
 import com.example.moneytracker.user.User;
@@ -9,8 +11,11 @@ import com.example.moneytracker.wallet.dto.CreateWalletRequest;
 import com.example.moneytracker.wallet.dto.WalletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -24,22 +29,38 @@ public class WalletService {
     private final WalletRepository walletRepository;
     private final UserRepository userRepository;
     private final CurrentUser currentUser;
+    private final LedgerViewCache viewCache;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate readOnlyTx;
 
     public WalletService(WalletRepository walletRepository,
                          UserRepository userRepository,
-                         CurrentUser currentUser) {
+                         CurrentUser currentUser,
+                         LedgerViewCache viewCache,
+                         ApplicationEventPublisher events,
+                         PlatformTransactionManager transactionManager) {
         this.walletRepository = walletRepository;
         this.userRepository = userRepository;
         this.currentUser = currentUser;
+        this.viewCache = viewCache;
+        this.events = events;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
-    private User getCurrentUserEntity() {
+    private Long requireCurrentUserId() {
         Long userId = currentUser.getUserId();
         if (userId == null) {
             throw new NoSuchElementException("No authenticated user");
         }
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
+        return userId;
+    }
+
+    /**
+     * Uninitialised proxy for the authenticated user: enough to set foreign keys without a users query.
+     */
+    private User getCurrentUserEntity() {
+        return userRepository.getReferenceById(requireCurrentUserId());
     }
 
     @Transactional
@@ -56,23 +77,30 @@ public class WalletService {
         wallet.setType(type);
 
         Wallet saved = walletRepository.save(wallet);
+        events.publishEvent(new LedgerChangedEvent(user.getId()));
         log.info("Created wallet {} for user {} of type {}", saved.getId(), user.getId(), type);
         return toResponse(saved);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link LedgerViewCache}; the transaction is only opened on a miss so hits never borrow a connection.
+     */
     public List<WalletResponse> listWallets() {
-        User user = getCurrentUserEntity();
-        return walletRepository.findAllByUser_Id(user.getId())
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Long userId = requireCurrentUserId();
+        return viewCache.wallets(userId, () -> readOnlyTx.execute(status ->
+                walletRepository.findAllByUser_Id(userId)
+                        .stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList())));
     }
 
-    @Transactional(readOnly = true)
     public BalanceResponse getBalance() {
-        User user = getCurrentUserEntity();
-        List<Wallet> wallets = walletRepository.findAllByUser_Id(user.getId());
+        Long userId = requireCurrentUserId();
+        return viewCache.balance(userId, () -> readOnlyTx.execute(status -> loadBalance(userId)));
+    }
+
+    private BalanceResponse loadBalance(Long userId) {
+        List<Wallet> wallets = walletRepository.findAllByUser_Id(userId);
 
         BigDecimal cash = wallets.stream()
                 .filter(w -> w.getType() == WalletType.CASH)
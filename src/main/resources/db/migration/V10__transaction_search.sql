@@ -0,0 +1,12 @@
+-- Indexes behind GET /api/transactions/search. Built concurrently (see the .conf sidecar).
+-- btree_gin lets user_id sit in the same GIN index as the text key, so a search only walks its own user's postings.
+create extension if not exists pg_trgm;
+create extension if not exists btree_gin;
+
+-- Ranked word search; the expression must match TransactionRepository.searchHits exactly to be used.
+create index concurrently if not exists idx_transactions_user_description_fts
+    on transactions using gin (user_id, to_tsvector('english', coalesce(description, '')));
+
+-- Typo-tolerant matching (:q <% description) for queries the stemmer does not catch.
+create index concurrently if not exists idx_transactions_user_description_trgm
+    on transactions using gin (user_id, description gin_trgm_ops);
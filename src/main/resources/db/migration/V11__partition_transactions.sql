@@ -0,0 +1,112 @@
+-- Range-partition transactions by year of `date`. Listings with a date range or keyset cursor
+-- only touch the partitions they need, and old years can be detached into ledger_archive
+-- (see TransactionPartitions) instead of being vacuumed and indexed forever.
+--
+-- The table is rebuilt and copied in this migration's transaction, which blocks ledger writes
+-- for the duration: run it in a maintenance window on large databases.
+--
+-- Consequences of partitioning:
+--  * the primary key must include the partition key, so it becomes (id, date); ids stay
+--    unique because only transactions_id_seq hands them out;
+--  * a foreign key cannot point at a partitioned table, so reversed_by_id loses its
+--    self-reference; the conditional update in markReversed still guards it;
+--  * CREATE INDEX CONCURRENTLY is not supported on partitioned tables, so the V2/V8/V10
+--    indexes are recreated here with plain CREATE INDEX on the still-empty parent.
+
+lock table transactions in access exclusive mode;
+
+alter table transactions rename to transactions_unpartitioned;
+alter index transactions_pkey rename to transactions_unpartitioned_pkey;
+
+-- Hibernate's pooled optimizer hands out (value - 49 .. value) per nextval, so the new
+-- sequence starts one full block past anything already issued.
+do $$
+declare
+    next_value bigint;
+begin
+    select greatest(coalesce((select max(id) from transactions_unpartitioned), 0),
+                    (select last_value from transactions_id_seq)) + 50
+    into next_value;
+    alter table transactions_unpartitioned alter column id drop identity;
+    execute format('create sequence transactions_id_seq increment by 50 start with %s', next_value);
+end $$;
+
+create table transactions (
+    id               bigint                      not null default nextval('transactions_id_seq'),
+    user_id          bigint                      not null references users (id),
+    person_id        bigint references people (id),
+    from_wallet_id   bigint references wallets (id),
+    to_wallet_id     bigint references wallets (id),
+    amount           numeric(18, 2)              not null,
+    description      varchar(255),
+    transaction_type varchar(255)                not null
+        check (transaction_type in ('RECEIVED', 'GIVEN', 'EXPENSE', 'INCOME', 'TRANSFER')),
+    date             timestamp(6) with time zone not null,
+    created_at       timestamp(6) with time zone not null,
+    reversed_by_id   bigint,
+    is_reversal      boolean                     not null,
+    primary key (id, date)
+) partition by range (date);
+
+alter sequence transactions_id_seq owned by transactions.id;
+
+-- Dates outside every yearly partition land here; TransactionPartitions moves them out.
+create table transactions_default partition of transactions default;
+
+-- One partition per year present in the data, through next year. Bounds are UTC year starts.
+do $$
+declare
+    first_year int;
+    last_year  int := extract(year from now() at time zone 'UTC')::int + 1;
+begin
+    select coalesce(min(extract(year from date at time zone 'UTC'))::int, last_year - 1)
+    into first_year
+    from transactions_unpartitioned;
+    for y in first_year..last_year loop
+        execute format(
+                'create table transactions_y%s partition of transactions for values from (%L) to (%L)',
+                y, make_timestamptz(y, 1, 1, 0, 0, 0, 'UTC'), make_timestamptz(y + 1, 1, 1, 0, 0, 0, 'UTC'));
+    end loop;
+end $$;
+
+insert into transactions (id, user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+                          transaction_type, date, created_at, reversed_by_id, is_reversal)
+select id, user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+       transaction_type, date, created_at, reversed_by_id, is_reversal
+from transactions_unpartitioned;
+
+drop table transactions_unpartitioned;
+
+create index idx_transactions_user_date
+    on transactions (user_id, date desc, id desc);
+create index idx_transactions_user_type_date
+    on transactions (user_id, transaction_type, date desc, id desc);
+create index idx_transactions_user_person_type
+    on transactions (user_id, person_id, transaction_type) include (amount)
+    where person_id is not null;
+create index idx_transactions_person
+    on transactions (person_id);
+create index idx_transactions_user_created
+    on transactions (user_id, created_at);
+create index idx_transactions_user_description_fts
+    on transactions using gin (user_id, to_tsvector('english', coalesce(description, '')));
+create index idx_transactions_user_description_trgm
+    on transactions using gin (user_id, description gin_trgm_ops);
+
+-- Archived years: same columns, attached here by TransactionPartitions after being detached
+-- from transactions. Not read by the API; full-history replays go through transaction_history.
+create schema if not exists ledger_archive;
+
+create table ledger_archive.transactions (like transactions including constraints)
+    partition by range (date);
+
+create view transaction_history as
+select id, user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+       transaction_type, date, created_at, reversed_by_id, is_reversal
+from transactions
+union all
+select id, user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+       transaction_type, date, created_at, reversed_by_id, is_reversal
+from ledger_archive.transactions;
+
+analyze transactions;
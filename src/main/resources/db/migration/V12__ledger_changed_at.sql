@@ -0,0 +1,3 @@
+-- When ledger_version last moved, stamped at commit time. Lets any instance tell that a user wrote
+-- within the replica pin window and send their reads to the primary.
+alter table users add column ledger_changed_at timestamp(6) with time zone;
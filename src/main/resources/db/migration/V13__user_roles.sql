@@ -0,0 +1,3 @@
+-- Admin access is a server-side flag on the account, no longer derived from the email in the token.
+-- Promote an operator with: update users set role = 'ADMIN' where id = <id>;
+alter table users add column role varchar(16) not null default 'USER';
@@ -0,0 +1,11 @@
+-- idx_transactions_user_person_type served sumAmountByUserAndPersonAndType, which person_balances
+-- replaced (V3). No query reads it any more, but every insert still maintains it on its partition.
+--
+-- DROP INDEX CONCURRENTLY is not supported on a partitioned index, so this is a plain drop. Dropping
+-- is a catalog change and takes only a moment once the lock is held. The short lock_timeout makes the
+-- migration fail instead of queueing ledger writes behind a long-running query; rerun it if that happens.
+-- Years already in ledger_archive keep their copy: they take no inserts.
+
+set local lock_timeout = '5s';
+
+drop index if exists idx_transactions_user_person_type;
@@ -0,0 +1,49 @@
+-- Baseline schema, equivalent to what ddl-auto=update produced for the JPA entities.
+
+create table users (
+    id            bigint generated by default as identity primary key,
+    email         varchar(255)                not null,
+    password_hash varchar(255)                not null,
+    created_at    timestamp(6) with time zone not null,
+    constraint uk_users_email unique (email)
+);
+
+create table wallets (
+    id         bigint generated by default as identity primary key,
+    user_id    bigint                      not null references users (id),
+    type       varchar(255)                not null check (type in ('CASH', 'ONLINE')),
+    balance    numeric(18, 2)              not null,
+    created_at timestamp(6) with time zone not null,
+    constraint uk_wallet_user_type unique (user_id, type)
+);
+
+create table people (
+    id         bigint generated by default as identity primary key,
+    user_id    bigint                      not null references users (id),
+    name       varchar(255)                not null,
+    phone      varchar(255),
+    notes      varchar(2000),
+    created_at timestamp(6) with time zone not null
+);
+
+create index idx_people_user on people (user_id);
+
+create table transactions (
+    id               bigint generated by default as identity primary key,
+    user_id          bigint                      not null references users (id),
+    person_id        bigint references people (id),
+    from_wallet_id   bigint references wallets (id),
+    to_wallet_id     bigint references wallets (id),
+    amount           numeric(18, 2)              not null,
+    description      varchar(255),
+    transaction_type varchar(255)                not null
+        check (transaction_type in ('RECEIVED', 'GIVEN', 'EXPENSE', 'INCOME', 'TRANSFER')),
+    date             timestamp(6) with time zone not null,
+    created_at       timestamp(6) with time zone not null,
+    reversed_by_id   bigint references transactions (id),
+    is_reversal      boolean                     not null
+);
+
+create index idx_transactions_user on transactions (user_id);
+create index idx_transactions_person on transactions (person_id);
+create index idx_transactions_date on transactions (date);
@@ -0,0 +1,20 @@
+-- Composite indexes shaped for the ledger read paths. Built concurrently so existing
+-- deployments keep accepting writes while they are created (see the .conf sidecar).
+
+-- searchPageForUser / streamForUser: equality on user, range and ordering on (date, id).
+-- Also serves the keyset predicate (date, id) < (:cursorDate, :cursorId).
+create index concurrently if not exists idx_transactions_user_date
+    on transactions (user_id, date desc, id desc);
+
+-- Same access path when the listing is filtered by transaction type.
+create index concurrently if not exists idx_transactions_user_type_date
+    on transactions (user_id, transaction_type, date desc, id desc);
+
+-- sumAmountByUserAndPersonAndType: index-only scan over person-linked rows, amount carried in the leaf.
+create index concurrently if not exists idx_transactions_user_person_type
+    on transactions (user_id, person_id, transaction_type) include (amount)
+    where person_id is not null;
+
+-- user_id alone is a prefix of idx_transactions_user_date; no query filters on date without user_id.
+drop index concurrently if exists idx_transactions_user;
+drop index concurrently if exists idx_transactions_date;
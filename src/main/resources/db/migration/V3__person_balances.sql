@@ -0,0 +1,29 @@
+-- Running per-person totals maintained by TransactionService in the same transaction as each
+-- person-linked insert. Semantics match the former on-the-fly sums: every RECEIVED row for the
+-- person adds to received, every GIVEN row adds to given (reversal rows included).
+-- last_tx_id deliberately has no foreign key so the transactions table can be reorganised freely.
+
+create table person_balances (
+    person_id  bigint                      primary key references people (id),
+    user_id    bigint                      not null references users (id),
+    received   numeric(18, 2)              not null default 0,
+    given      numeric(18, 2)              not null default 0,
+    net        numeric(18, 2)              not null default 0,
+    last_tx_id bigint,
+    updated_at timestamp(6) with time zone not null default now()
+);
+
+create index idx_person_balances_user on person_balances (user_id);
+
+insert into person_balances (person_id, user_id, received, given, net, last_tx_id, updated_at)
+select p.id,
+       p.user_id,
+       coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+       coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+       coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0)
+           - coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+       max(t.id),
+       now()
+from people p
+         left join transactions t on t.person_id = p.id
+group by p.id, p.user_id;
@@ -0,0 +1,3 @@
+-- Optimistic version for entity-level wallet edits. Balance deltas are applied with atomic
+-- UPDATE statements that also bump the version, so a stale entity edit cannot overwrite them.
+alter table wallets add column version bigint not null default 0;
@@ -0,0 +1,3 @@
+-- Hibernate now draws transaction ids from the identity sequence with a pooled optimizer
+-- (allocationSize = 50), which lets inserts be batched. The sequence increment must match.
+alter table transactions alter column id set increment by 50;
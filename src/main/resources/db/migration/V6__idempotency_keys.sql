@@ -0,0 +1,13 @@
+-- Stored responses for Idempotency-Key retries of transaction creation and reversal.
+-- The primary key is the only lookup path; created_at drives TTL cleanup.
+create table idempotency_keys (
+    user_id         bigint                      not null references users (id),
+    idempotency_key varchar(255)                not null,
+    operation       varchar(100)                not null,
+    request_hash    varchar(64)                 not null,
+    response_body   text,
+    created_at      timestamp(6) with time zone not null default now(),
+    primary key (user_id, idempotency_key)
+);
+
+create index idx_idempotency_keys_created on idempotency_keys (created_at);
@@ -0,0 +1,58 @@
+-- Pre-aggregated monthly totals (UTC months) for /api/summary, maintained by TransactionService in the
+-- same transaction as each posting. Only effective activity is counted: a reversal subtracts the
+-- original from the original's month and the reversal row itself is not added, so reversed pairs vanish.
+-- Wallet rows split each posting into legs: to_wallet_id adds to inflow, from_wallet_id to outflow.
+-- tx_count is carried by one leg per posting (the from leg when present) so transfers count once.
+
+create table wallet_monthly_totals (
+    user_id          bigint         not null references users (id),
+    month            date           not null,
+    wallet_id        bigint         not null references wallets (id),
+    transaction_type varchar(255)   not null,
+    inflow           numeric(18, 2) not null default 0,
+    outflow          numeric(18, 2) not null default 0,
+    tx_count         bigint         not null default 0,
+    primary key (user_id, month, wallet_id, transaction_type)
+);
+
+create table person_monthly_totals (
+    user_id   bigint         not null references users (id),
+    month     date           not null,
+    person_id bigint         not null references people (id),
+    received  numeric(18, 2) not null default 0,
+    given     numeric(18, 2) not null default 0,
+    tx_count  bigint         not null default 0,
+    primary key (user_id, month, person_id)
+);
+
+create index idx_person_monthly_totals_person on person_monthly_totals (person_id);
+
+insert into wallet_monthly_totals (user_id, month, wallet_id, transaction_type, inflow, outflow, tx_count)
+select t.user_id,
+       date_trunc('month', t.date at time zone 'UTC')::date,
+       leg.wallet_id,
+       t.transaction_type,
+       sum(leg.inflow),
+       sum(leg.outflow),
+       count(*) filter (where leg.counted)
+from transactions t
+         cross join lateral (values (t.to_wallet_id, t.amount, 0::numeric, t.from_wallet_id is null),
+                                    (t.from_wallet_id, 0::numeric, t.amount, true))
+    as leg (wallet_id, inflow, outflow, counted)
+where leg.wallet_id is not null
+  and not t.is_reversal
+  and t.reversed_by_id is null
+group by 1, 2, 3, 4;
+
+insert into person_monthly_totals (user_id, month, person_id, received, given, tx_count)
+select t.user_id,
+       date_trunc('month', t.date at time zone 'UTC')::date,
+       t.person_id,
+       coalesce(sum(t.amount) filter (where t.transaction_type = 'RECEIVED'), 0),
+       coalesce(sum(t.amount) filter (where t.transaction_type = 'GIVEN'), 0),
+       count(*)
+from transactions t
+where t.person_id is not null
+  and not t.is_reversal
+  and t.reversed_by_id is null
+group by 1, 2, 3;
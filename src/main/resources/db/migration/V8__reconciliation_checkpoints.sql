@@ -0,0 +1,30 @@
+-- Balance checkpoints for the reconciliation job: per user, the wallet balances and person totals the
+-- transaction log adds up to for every row created before through_created_at. Later runs replay only
+-- rows created since. Runs outside a transaction (see the .conf sidecar) so the index builds concurrently.
+
+create table if not exists ledger_checkpoints (
+    user_id            bigint                      primary key references users (id),
+    through_created_at timestamp(6) with time zone not null,
+    updated_at         timestamp(6) with time zone not null default now()
+);
+
+create table if not exists ledger_checkpoint_wallets (
+    wallet_id bigint         primary key references wallets (id) on delete cascade,
+    user_id   bigint         not null references users (id),
+    balance   numeric(18, 2) not null
+);
+
+create index if not exists idx_ledger_checkpoint_wallets_user on ledger_checkpoint_wallets (user_id);
+
+create table if not exists ledger_checkpoint_people (
+    person_id bigint         primary key references people (id) on delete cascade,
+    user_id   bigint         not null references users (id),
+    received  numeric(18, 2) not null,
+    given     numeric(18, 2) not null
+);
+
+create index if not exists idx_ledger_checkpoint_people_user on ledger_checkpoint_people (user_id);
+
+-- Delta replay: a user's rows created since the checkpoint.
+create index concurrently if not exists idx_transactions_user_created
+    on transactions (user_id, created_at);
@@ -0,0 +1,3 @@
+-- Per-user counter bumped in the same transaction as every ledger write (transactions, wallets, people).
+-- Read endpoints expose it as an ETag so unchanged polls can be answered with 304 from one primary-key lookup.
+alter table users add column ledger_version bigint not null default 0;
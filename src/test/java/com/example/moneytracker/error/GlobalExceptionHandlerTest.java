@@ -0,0 +1,57 @@
+package com.example.moneytracker.error;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions");
+    private final SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+            "HikariPool-1 - Connection is not available, request timed out after 5000ms.");
+
+    @Test
+    void poolTimeoutIsServiceUnavailableWithRetryAfter() {
+        assertServiceUnavailable(handler.handleConnectionUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        new RuntimeException(timeout)), request));
+    }
+
+    @Test
+    void poolTimeoutOutsideATransactionIsServiceUnavailable() {
+        assertServiceUnavailable(handler.handleConnectionUnavailable(
+                new DataAccessResourceFailureException("Unable to acquire JDBC Connection", timeout), request));
+    }
+
+    @Test
+    void poolTimeoutWrappedByAuthenticationIsServiceUnavailable() {
+        DataAccessResourceFailureException lookup =
+                new DataAccessResourceFailureException("Unable to acquire JDBC Connection", timeout);
+        assertServiceUnavailable(handler.handleGeneric(
+                new InternalAuthenticationServiceException(lookup.getMessage(), lookup), request));
+    }
+
+    @Test
+    void otherConnectionFailuresAreServerErrors() {
+        ResponseEntity<ErrorResponse> response = handler.handleConnectionUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        new SQLException("Connection to localhost:5432 refused.", "08001")), request);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(response.getHeaders().containsKey("Retry-After")).isFalse();
+    }
+
+    private static void assertServiceUnavailable(ResponseEntity<ErrorResponse> response) {
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.moneytracker.load;
+
+/**
+ * The calls a virtual user makes, each reported separately. Names are the ones used in {@code --mix}.
+ */
+enum Endpoint {
+
+    CREATE("create", "POST /api/transactions"),
+    REVERSE("reverse", "POST /api/transactions/{id}/reverse"),
+    LIST("list", "GET /api/transactions"),
+    BALANCE("balance", "GET /api/wallets/balance"),
+    PEOPLE("people", "GET /api/people");
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String route() {
+        return route;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+}
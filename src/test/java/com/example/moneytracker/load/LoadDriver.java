@@ -0,0 +1,155 @@
+package com.example.moneytracker.load;
+
+import com.example.moneytracker.MoneyTrackerApplication;
+import com.example.moneytracker.support.TestDatabase;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test: many virtual users, each with its own account, replay a weighted mix of ledger
+ * calls and the run reports p50/p99/p999 latency, throughput, error and 429 rates per endpoint, on the console
+ * and as JSON.
+ * <p>
+ * Without {@code --url} the application is started in this JVM on the {@link TestDatabase} PostgreSQL
+ * ({@code TEST_DATABASE_URL} or a container), with the login rate limit lifted so setup can sign in every
+ * virtual user; the per-user API limit stays as configured, so its 429s show up in the report. Options:
+ * <pre>
+ *   --url=http://host:8081      instance to load (default: start one in-process)
+ *   --users=50                  virtual users
+ *   --warmup=PT15S              unrecorded ramp before measuring
+ *   --duration=PT60S            measured time
+ *   --think=PT0S                pause between a user's calls
+ *   --mix=create=30,reverse=5,list=35,balance=20,people=10
+ *   --report=target/load-report.json
+ *   --app.&lt;property&gt;=value    passed to the in-process application, e.g. --app.spring.threads.virtual.enabled=true
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options look like --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("app.")) {
+                appArgs.add("--" + name.substring(4) + "=" + value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT15S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration think = Duration.parse(options.getOrDefault("think", "PT0S"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "create=30,reverse=5,list=35,balance=20,people=10"));
+        File reportFile = new File(options.getOrDefault("report", "target/load-report.json"));
+
+        ConfigurableApplicationContext app = null;
+        String url = options.get("url");
+        if (url == null) {
+            app = start(appArgs);
+            url = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("url", url);
+            settings.put("users", users);
+            settings.put("warmup", warmup.toString());
+            settings.put("duration", duration.toString());
+            settings.put("think", think.toString());
+            settings.put("mix", mix.toString());
+            settings.put("app", appArgs);
+            settings.put("java", Runtime.version().toString());
+            run(url, users, warmup, duration, think, mix, settings, reportFile);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static void run(String url, int users, Duration warmup, Duration duration, Duration think, Mix mix,
+                            Map<String, Object> settings, File reportFile) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            virtualUsers.add(new VirtualUser(client, url, "load-" + run + "-" + i + "@load.local", i));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            System.out.printf("Signing up %d virtual users against %s%n", users, url);
+            List<Future<?>> setups = new ArrayList<>();
+            for (VirtualUser user : virtualUsers) {
+                setups.add(pool.submit(() -> {
+                    user.setUp();
+                    return null;
+                }));
+            }
+            for (Future<?> setup : setups) {
+                setup.get();
+            }
+
+            System.out.printf("Running mix %s: %s warmup, %s measured%n", mix, warmup, duration);
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long until = measureFrom + duration.toNanos();
+            List<Future<?>> runs = new ArrayList<>();
+            for (VirtualUser user : virtualUsers) {
+                runs.add(pool.submit(() -> {
+                    user.run(mix, measureFrom, until, think);
+                    return null;
+                }));
+            }
+            for (Future<?> running : runs) {
+                running.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LoadReport report = new LoadReport();
+        virtualUsers.forEach(user -> report.merge(user.report()));
+        report.print(System.out, duration);
+        report.write(reportFile, settings, duration);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(List<String> appArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + TestDatabase.url(),
+                "--spring.datasource.username=" + TestDatabase.username(),
+                "--spring.datasource.password=" + TestDatabase.password(),
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.root=WARN",
+                "--security.rate-limit.auth-requests-per-minute=1000000"));
+        args.addAll(appArgs);
+        return new SpringApplicationBuilder(MoneyTrackerApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.moneytracker.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency and outcome counts per endpoint. Each virtual user records into its own report, so recording never
+ * contends; the driver merges them once the run is over.
+ */
+final class LoadReport {
+
+    private static final long MAX_TRACKED_MICROS = Duration.ofMinutes(5).toNanos() / 1_000;
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LoadReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    /**
+     * @param status HTTP status, or {@code -1} when no response arrived (I/O error or timeout)
+     */
+    void record(Endpoint endpoint, long nanos, int status) {
+        Stats s = stats.get(endpoint);
+        s.latency.recordValue(Math.min(Math.max(nanos / 1_000, 1), MAX_TRACKED_MICROS));
+        if (status == 429) {
+            s.rateLimited++;
+        } else if (status < 200 || status >= 400) {
+            s.errors++;
+        }
+    }
+
+    void merge(LoadReport other) {
+        other.stats.forEach((endpoint, s) -> {
+            Stats mine = stats.get(endpoint);
+            mine.latency.add(s.latency);
+            mine.errors += s.errors;
+            mine.rateLimited += s.rateLimited;
+        });
+    }
+
+    List<Row> rows(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Stats total = new Stats();
+        stats.forEach((endpoint, s) -> {
+            if (s.latency.getTotalCount() > 0) {
+                rows.add(s.row(endpoint.route(), seconds));
+                total.latency.add(s.latency);
+                total.errors += s.errors;
+                total.rateLimited += s.rateLimited;
+            }
+        });
+        rows.add(total.row("total", seconds));
+        return rows;
+    }
+
+    void print(PrintStream out, Duration measured) {
+        out.printf("%-38s %9s %9s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "429s");
+        for (Row row : rows(measured)) {
+            out.printf("%-38s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %7.2f%%%n",
+                    row.endpoint(), row.requests(), row.throughput(), row.p50Ms(), row.p99Ms(), row.p999Ms(),
+                    row.maxMs(), row.errorRate() * 100, row.rateLimitedRate() * 100);
+        }
+    }
+
+    void write(File file, Map<String, Object> settings, Duration measured) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("measuredSeconds", measured.toMillis() / 1000.0);
+        json.put("endpoints", rows(measured));
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+    }
+
+    /**
+     * One line of the report; latencies in milliseconds, rates as fractions of all requests.
+     */
+    record Row(String endpoint, long requests, double throughput, double p50Ms, double p99Ms, double p999Ms,
+               double maxMs, double errorRate, double rateLimitedRate) {
+    }
+
+    private static final class Stats {
+
+        private final Histogram latency = new Histogram(MAX_TRACKED_MICROS, 3);
+        private long errors;
+        private long rateLimited;
+
+        Row row(String endpoint, double seconds) {
+            long requests = latency.getTotalCount();
+            return new Row(endpoint, requests, requests / seconds,
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()),
+                    requests == 0 ? 0 : (double) errors / requests,
+                    requests == 0 ? 0 : (double) rateLimited / requests);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
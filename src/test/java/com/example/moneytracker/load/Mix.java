@@ -0,0 +1,65 @@
+package com.example.moneytracker.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of the next call, parsed from {@code create=30,reverse=5,list=35,balance=20,people=10}.
+ */
+final class Mix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulative;
+    private final Map<Endpoint, Integer> weights;
+
+    private Mix(Map<Endpoint, Integer> weights) {
+        this.weights = weights;
+        this.endpoints = weights.keySet().toArray(Endpoint[]::new);
+        this.cumulative = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight");
+        }
+    }
+
+    static Mix parse(String spec) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like name=weight, got: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(entry[0].trim()), weight);
+            }
+        }
+        return new Mix(weights);
+    }
+
+    Endpoint pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        weights.forEach((endpoint, weight) ->
+                spec.append(spec.isEmpty() ? "" : ",").append(endpoint.key()).append('=').append(weight));
+        return spec.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.moneytracker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated client with its own account: signs up and in through the auth API, creates its wallets and a
+ * contact, then issues requests back to back (closed loop) until the run ends. Latency is measured from
+ * sending a request to having read its whole body.
+ */
+final class VirtualUser {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int REVERSIBLE_BACKLOG = 200;
+    private static final String[] TYPES = {"EXPENSE", "INCOME", "TRANSFER", "RECEIVED", "GIVEN"};
+    private static final String[] LIST_QUERIES = {
+            "", "?wallet=CASH", "?type=EXPENSE", "?wallet=ONLINE&type=TRANSFER", "?limit=20"
+    };
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String email;
+    private final SplittableRandom random;
+    private final Deque<Long> reversible = new ArrayDeque<>();
+    private final LoadReport report = new LoadReport();
+
+    private String token;
+    private long cash;
+    private long online;
+    private long person;
+
+    VirtualUser(HttpClient client, String baseUrl, String email, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.random = new SplittableRandom(seed);
+    }
+
+    LoadReport report() {
+        return report;
+    }
+
+    void setUp() throws IOException, InterruptedException {
+        send(post("/api/auth/register", Map.of("email", email, "password", PASSWORD), false), 200);
+        token = send(post("/api/auth/login", Map.of("email", email, "password", PASSWORD), false), 200)
+                .get("token").asText();
+        cash = send(post("/api/wallets", Map.of("type", "CASH"), true), 200, 201).get("id").asLong();
+        online = send(post("/api/wallets", Map.of("type", "ONLINE"), true), 200, 201).get("id").asLong();
+        person = send(post("/api/people", Map.of("name", "Load contact"), true), 200, 201).get("id").asLong();
+        send(post("/api/transactions", transaction("INCOME", "1000000.00"), true), 201);
+    }
+
+    /**
+     * @param measureFrom {@link System#nanoTime()} after which calls are recorded (earlier ones are warmup)
+     * @param until       {@link System#nanoTime()} at which the user stops
+     */
+    void run(Mix mix, long measureFrom, long until, Duration think) throws InterruptedException {
+        while (System.nanoTime() < until) {
+            Endpoint endpoint = mix.pick(random);
+            if (endpoint == Endpoint.REVERSE && reversible.isEmpty()) {
+                endpoint = Endpoint.CREATE;
+            }
+            HttpRequest request = request(endpoint);
+            long started = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = -1;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom) {
+                report.record(endpoint, finished - started, status);
+            }
+            if (endpoint == Endpoint.CREATE && status == 201) {
+                remember(body);
+            }
+            if (!think.isZero()) {
+                Thread.sleep(think.toMillis());
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case CREATE -> post("/api/transactions",
+                    transaction(TYPES[random.nextInt(TYPES.length)], amount()), true);
+            case REVERSE -> post("/api/transactions/" + reversible.pollLast() + "/reverse", null, true);
+            case LIST -> get("/api/transactions" + listQuery());
+            case BALANCE -> get("/api/wallets/balance");
+            case PEOPLE -> get("/api/people");
+        };
+    }
+
+    private String listQuery() {
+        if (random.nextInt(4) == 0) {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            return "?from=" + today.minusDays(7) + "&to=" + today;
+        }
+        return LIST_QUERIES[random.nextInt(LIST_QUERIES.length)];
+    }
+
+    private String amount() {
+        return (1 + random.nextInt(5_000)) / 100 + "." + String.format("%02d", random.nextInt(100));
+    }
+
+    private Map<String, Object> transaction(String type, String amount) {
+        return switch (type) {
+            case "INCOME" -> Map.of("transactionType", type, "amount", amount, "toWalletId", cash);
+            case "EXPENSE" -> Map.of("transactionType", type, "amount", amount, "fromWalletId", cash);
+            case "TRANSFER" -> transfer(amount);
+            case "RECEIVED" -> Map.of("transactionType", type, "amount", amount, "personId", person,
+                    "toWalletId", cash);
+            case "GIVEN" -> Map.of("transactionType", type, "amount", amount, "personId", person,
+                    "fromWalletId", cash);
+            default -> throw new IllegalArgumentException(type);
+        };
+    }
+
+    private Map<String, Object> transfer(String amount) {
+        boolean toOnline = random.nextBoolean();
+        return Map.of("transactionType", "TRANSFER", "amount", amount,
+                "fromWalletId", toOnline ? cash : online, "toWalletId", toOnline ? online : cash);
+    }
+
+    private void remember(String body) {
+        try {
+            reversible.addLast(json.readTree(body).get("id").asLong());
+            if (reversible.size() > REVERSIBLE_BACKLOG) {
+                reversible.removeFirst();
+            }
+        } catch (IOException e) {
+            // Unparseable body: nothing to reverse later
+        }
+    }
+
+    private HttpRequest post(String path, Object body, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        try {
+            builder.POST(body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        builder.header("Content-Type", "application/json");
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    /**
+     * Setup call that must succeed; a 429 or 503 is waited out for as long as {@code Retry-After} asks.
+     */
+    private JsonNode send(HttpRequest request, int... expected) throws IOException, InterruptedException {
+        while (true) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 429 || response.statusCode() == 503) {
+                long wait = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(Duration.ofSeconds(Math.max(1, wait)).toMillis());
+                continue;
+            }
+            for (int status : expected) {
+                if (response.statusCode() == status) {
+                    return json.readTree(response.body());
+                }
+            }
+            throw new IOException(request.method() + " " + request.uri().getPath() + " for " + email
+                    + " answered " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.moneytracker.metrics;
+
+import com.example.moneytracker.support.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The unauthenticated scrape and probe endpoints answer on the management port and nowhere on the API port.
+ * Tests turn metrics export off by default; {@link AutoConfigureObservability} brings the scrape endpoint back.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ContextConfiguration(initializers = TestDatabase.class)
+@EnabledIf(value = "com.example.moneytracker.support.TestDatabase#available",
+        disabledReason = "needs Docker or TEST_DATABASE_URL")
+class ManagementPortTest {
+
+    @LocalServerPort
+    private int apiPort;
+    @LocalManagementPort
+    private int managementPort;
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusIsServedOnlyOnTheManagementPort() throws Exception {
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body()).contains("application=\"" + applicationName + "\"");
+
+        assertThat(get(apiPort, "/actuator/prometheus").statusCode()).isIn(401, 403, 404);
+        assertThat(get(apiPort, "/actuator/health").statusCode()).isIn(401, 403, 404);
+    }
+
+    @Test
+    void healthIsOpenOnTheManagementPort() throws Exception {
+        assertThat(get(managementPort, "/actuator/health").statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.moneytracker.person;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.person.dto.CreatePersonRequest;
+import com.example.moneytracker.person.dto.PersonSummaryResponse;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/people} must cost the same number of SQL statements for 1 person as for 100.
+ */
+@PostgresTest
+class PersonListingStatementCountTest {
+
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long cashWalletId;
+
+    @BeforeEach
+    void signIn() {
+        TestUsers.signIn(TestUsers.create(userRepository));
+        cashWalletId = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void listPeopleStatementCountDoesNotGrowWithPeople() {
+        addPeople(1);
+        long withOne = statementsFor(() -> personService.listPeople());
+
+        addPeople(99);
+        List<PersonSummaryResponse> people = personService.listPeople();
+        long withHundred = statementsFor(() -> personService.listPeople());
+
+        assertThat(people).hasSize(100);
+        assertThat(withOne).isPositive();
+        assertThat(withHundred).isEqualTo(withOne);
+    }
+
+    private void addPeople(int count) {
+        for (int i = 0; i < count; i++) {
+            Long personId = personService.createPerson(new CreatePersonRequest("Person " + i, null, null)).id();
+            // Give every person ledger activity so totals are really computed, not defaulted
+            transactionService.createTransaction(new CreateTransactionRequest(
+                    personId, null, cashWalletId, new BigDecimal("5.00"), TransactionType.RECEIVED, null, null));
+            transactionService.createTransaction(new CreateTransactionRequest(
+                    personId, cashWalletId, null, new BigDecimal("2.00"), TransactionType.GIVEN, null, null));
+        }
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        long before = statistics.getPrepareStatementCount();
+        call.get();
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.moneytracker.replica;
+
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lag measurement against a real primary and streaming standby: {@code TEST_DATABASE_URL} and
+ * {@code TEST_REPLICA_DATABASE_URL}, same credentials, superuser so the standby can be paused and detached.
+ */
+@PostgresTest
+@EnabledIfEnvironmentVariable(named = "TEST_REPLICA_DATABASE_URL", matches = ".+",
+        disabledReason = "needs a streaming standby of the test database")
+@TestPropertySource(properties = {
+        "ledger.replica.url=${TEST_REPLICA_DATABASE_URL}",
+        "ledger.replica.max-lag=PT0.5S",
+        "ledger.replica.lag-check-interval=PT0.2S"
+})
+class ReplicaLagTest {
+
+    private static final Duration SETTLE = Duration.ofSeconds(30);
+
+    @Autowired
+    private ReplicaMonitor monitor;
+    @Autowired
+    private JdbcTemplate primary;
+
+    private final JdbcTemplate standby = new JdbcTemplate(new DriverManagerDataSource(
+            System.getenv("TEST_REPLICA_DATABASE_URL"), TestDatabase.username(), TestDatabase.password()));
+
+    private String detachedConninfo;
+
+    @AfterEach
+    void reattach() {
+        standby.execute("select pg_wal_replay_resume()");
+        if (detachedConninfo != null) {
+            standby.execute("alter system set primary_conninfo = '" + detachedConninfo.replace("'", "''") + "'");
+            standby.execute("select pg_reload_conf()");
+        }
+        awaitUsable(true);
+    }
+
+    @Test
+    void caughtUpStandbyIsUsed() {
+        write();
+        awaitUsable(true);
+    }
+
+    @Test
+    void standbyWithoutWalReceiverIsNotUsed() {
+        awaitUsable(true);
+        detachedConninfo = standby.queryForObject("show primary_conninfo", String.class);
+        standby.execute("alter system set primary_conninfo = ''");
+        standby.execute("select pg_reload_conf()");
+        await(() -> !standby.queryForObject("select exists (select 1 from pg_stat_wal_receiver)", Boolean.class));
+
+        // Everything it received is replayed, so on its own the standby looks current
+        monitor.measure();
+        assertThat(monitor.isUsable()).isFalse();
+    }
+
+    @Test
+    void pausedReplayCountsAsLag() throws InterruptedException {
+        awaitUsable(true);
+        standby.execute("select pg_wal_replay_pause()");
+        write();
+
+        monitor.measure();
+        Thread.sleep(700);
+        monitor.measure();
+        assertThat(monitor.isUsable()).isFalse();
+
+        standby.execute("select pg_wal_replay_resume()");
+        awaitUsable(true);
+    }
+
+    private void write() {
+        primary.execute("create table if not exists replica_lag_probe (id int primary key, at timestamptz)");
+        primary.update("insert into replica_lag_probe values (1, now()) on conflict (id) do update set at = now()");
+    }
+
+    private void awaitUsable(boolean usable) {
+        await(() -> {
+            monitor.measure();
+            return monitor.isUsable() == usable;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + SETTLE.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within %s", SETTLE).isLessThan(deadline);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
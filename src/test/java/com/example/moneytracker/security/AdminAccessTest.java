@@ -0,0 +1,68 @@
+package com.example.moneytracker.security;
+
+import com.example.moneytracker.support.PostgresTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Admin access follows {@code users.role}, not anything a client controls.
+ */
+@PostgresTest
+@AutoConfigureMockMvc
+class AdminAccessTest {
+
+    private static final String PASSWORD = "admin-access-test";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private ObjectMapper json;
+
+    @Test
+    void adminRoutesFollowTheRoleColumn() throws Exception {
+        JsonNode user = auth("register", "admin-" + UUID.randomUUID() + "@example.test", 200);
+        long id = user.get("userId").asLong();
+        String token = user.get("token").asText();
+
+        assertThat(adminStatus(token)).isEqualTo(403);
+
+        jdbc.update("update users set role = 'ADMIN' where id = ?", id);
+        assertThat(adminStatus(token)).isIn(200, 404);
+
+        jdbc.update("update users set role = 'USER' where id = ?", id);
+        assertThat(adminStatus(token)).isEqualTo(403);
+    }
+
+    private JsonNode auth(String action, String email, int expectedStatus) throws Exception {
+        MvcResult result = mvc.perform(post("/api/auth/" + action)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new Credentials(email, PASSWORD))))
+                .andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(expectedStatus);
+        String body = result.getResponse().getContentAsString();
+        return body.isEmpty() ? null : json.readTree(body);
+    }
+
+    private int adminStatus(String token) throws Exception {
+        return mvc.perform(get("/api/admin/reconciliation").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private record Credentials(String email, String password) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.moneytracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Route costs, read off the {@code RateLimit-Remaining} header of a fresh client's first request.
+ */
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties(), new SimpleMeterRegistry());
+
+    @Test
+    void ndjsonListingCostsAsMuchAsTheExport() throws Exception {
+        assertThat(remainingAfter("/api/transactions/export", null, "10.0.0.1")).isEqualTo(580);
+        assertThat(remainingAfter("/api/transactions", "application/x-ndjson", "10.0.0.2")).isEqualTo(580);
+        assertThat(remainingAfter("/api/transactions", "application/json;q=0.9, application/x-ndjson", "10.0.0.3"))
+                .isEqualTo(580);
+    }
+
+    @Test
+    void jsonOrWildcardListingCostsOne() throws Exception {
+        assertThat(remainingAfter("/api/transactions", null, "10.0.1.1")).isEqualTo(599);
+        assertThat(remainingAfter("/api/transactions", "application/json", "10.0.1.2")).isEqualTo(599);
+        assertThat(remainingAfter("/api/transactions", "*/*", "10.0.1.3")).isEqualTo(599);
+        assertThat(remainingAfter("/api/transactions", "not a media type", "10.0.1.4")).isEqualTo(599);
+    }
+
+    private long remainingAfter(String path, String accept, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(ip);
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return Long.parseLong(response.getHeader("RateLimit-Remaining"));
+    }
+
+    /**
+     * The application.yml defaults for the transaction routes.
+     */
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRouteCosts(List.of(
+                route("/api/transactions/export", null, 20),
+                route("/api/transactions", "application/x-ndjson", 20)));
+        return properties;
+    }
+
+    private static RateLimitProperties.RouteCost route(String pattern, String accept, int cost) {
+        RateLimitProperties.RouteCost route = new RateLimitProperties.RouteCost();
+        route.setMethod("GET");
+        route.setPattern(pattern);
+        route.setAccept(accept);
+        route.setCost(cost);
+        return route;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.moneytracker.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GCRA arithmetic on a 10-per-minute bucket: one token every 6 s, time passed in explicitly.
+ */
+class TokenBucketTest {
+
+    private static final int CAPACITY = 10;
+    private static final long PERIOD = TimeUnit.MINUTES.toNanos(1);
+    private static final long INTERVAL = PERIOD / CAPACITY;
+    private static final long START = 1_000_000_000_000L;
+
+    private final TokenBucket bucket = new TokenBucket(START);
+
+    @Test
+    void admitsUpToCapacityCountingDownRemainingTokens() {
+        for (int remaining = CAPACITY - 1; remaining >= 0; remaining--) {
+            assertThat(acquire(1, START)).isEqualTo(remaining);
+        }
+    }
+
+    @Test
+    void rejectsWhenEmptyWithTheWaitUntilTheNextToken() {
+        drain(START);
+
+        assertThat(acquire(1, START)).isEqualTo(-INTERVAL);
+        assertThat(acquire(1, START + INTERVAL / 2)).isEqualTo(-INTERVAL / 2);
+    }
+
+    @Test
+    void rejectionDoesNotConsumeTokens() {
+        drain(START);
+        acquire(1, START);
+        acquire(1, START);
+
+        assertThat(acquire(1, START + INTERVAL)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalUpToCapacity() {
+        drain(START);
+
+        assertThat(acquire(1, START + INTERVAL)).isZero();
+        assertThat(acquire(1, START + 3 * INTERVAL)).isEqualTo(1);
+
+        // Idle far longer than the period: back to a full bucket, not more
+        long later = START + 10 * PERIOD;
+        assertThat(acquire(1, later)).isEqualTo(CAPACITY - 1);
+        assertThat(bucket.nanosUntilFull(later)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void costAboveOneDrawsSeveralTokensAtOnce() {
+        assertThat(acquire(5, START)).isEqualTo(5);
+        assertThat(bucket.nanosUntilFull(START)).isEqualTo(5 * INTERVAL);
+
+        // Six would overdraw by one token: wait one interval, and nothing is taken
+        assertThat(acquire(6, START)).isEqualTo(-INTERVAL);
+        assertThat(acquire(5, START)).isZero();
+    }
+
+    @Test
+    void costOfTheWholeCapacityIsAdmittedOnlyFromAFullBucket() {
+        assertThat(acquire(CAPACITY, START)).isZero();
+        assertThat(acquire(CAPACITY, START + INTERVAL)).isEqualTo(-(PERIOD - INTERVAL));
+        assertThat(acquire(CAPACITY, START + PERIOD)).isZero();
+    }
+
+    private long acquire(int cost, long now) {
+        return bucket.tryAcquire(cost, CAPACITY, PERIOD, now);
+    }
+
+    private void drain(long now) {
+        while (acquire(1, now) > 0) {
+            // keep taking until the last token is gone
+        }
+    }
+}
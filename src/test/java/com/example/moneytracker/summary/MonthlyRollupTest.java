@@ -0,0 +1,268 @@
+package com.example.moneytracker.summary;
+
+import com.example.moneytracker.config.ConflictRetry;
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.person.PersonService;
+import com.example.moneytracker.person.dto.CreatePersonRequest;
+import com.example.moneytracker.summary.dto.MonthlySummary;
+import com.example.moneytracker.summary.dto.SummaryResponse;
+import com.example.moneytracker.summary.dto.SummaryTotals;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.TransactionService;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.User;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The monthly rollups behind {@code /api/summary} must equal the transaction log whichever way they were
+ * written: posting deltas (create, reverse, batch import) or {@link RollupBackfill#rebuildUser}, including a
+ * posting that arrives while a rebuild is in progress.
+ */
+@PostgresTest
+class MonthlyRollupTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2026, 2);
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private SummaryService summaryService;
+    @Autowired
+    private RollupBackfill rollupBackfill;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ConflictRetry conflictRetry;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Long cash;
+    private Long online;
+    private Long person;
+
+    @BeforeEach
+    void signIn() {
+        user = TestUsers.create(userRepository);
+        TestUsers.signIn(user);
+        cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        online = walletService.createWallet(new CreateWalletRequest(WalletType.ONLINE)).id();
+        person = personService.createPerson(new CreatePersonRequest("Ravi", null, null)).id();
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void rollupsFollowTheLogThroughPostingsAndRebuild() {
+        post(null, online, null, "1000.00", TransactionType.INCOME, "2026-01-05");
+        post(online, cash, null, "300.00", TransactionType.TRANSFER, "2026-01-12");
+        post(cash, null, null, "40.00", TransactionType.EXPENSE, "2026-01-10");
+        post(cash, null, person, "25.00", TransactionType.GIVEN, "2026-02-03");
+        post(null, online, person, "10.00", TransactionType.RECEIVED, "2026-02-04");
+        Long mistake = post(cash, null, null, "99.00", TransactionType.EXPENSE, "2026-02-06");
+        assertRollupsMatchLog();
+
+        transactionService.reverseTransaction(mistake);
+        assertRollupsMatchLog();
+
+        transactionService.importTransactions(List.of(
+                request(null, cash, null, "200.00", TransactionType.INCOME, "2026-02-10"),
+                request(online, null, null, "15.50", TransactionType.EXPENSE, "2026-01-20"),
+                request(online, null, person, "5.00", TransactionType.GIVEN, "2026-01-25")));
+        assertRollupsMatchLog();
+        SummaryResponse posted = summaryService.getSummary(JANUARY, FEBRUARY);
+        assertExpectedSummary(posted);
+
+        // Drift the stored rows, then let the rebuild put them back
+        jdbc.update("update wallet_monthly_totals set inflow = inflow + 1, tx_count = tx_count + 1 where user_id = ?",
+                user.getId());
+        jdbc.update("update person_monthly_totals set given = given + 1 where user_id = ?", user.getId());
+        rollupBackfill.rebuildUser(user.getId());
+
+        assertRollupsMatchLog();
+        assertSameAmounts(summaryService.getSummary(JANUARY, FEBRUARY), posted);
+    }
+
+    @Test
+    void postingWaitsForARebuildInProgressAndIsCountedOnce() throws Exception {
+        post(null, cash, null, "500.00", TransactionType.INCOME, "2026-01-01");
+
+        // Keep the rebuild's transaction open after rebuildUser returns, between its delete and its commit
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        CompletableFuture<Long> concurrentPosting = outer.execute(status -> {
+            rollupBackfill.rebuildUser(user.getId());
+            // A month with no rollup rows yet: nothing but the wallet lock stands in the posting's way
+            CompletableFuture<Long> posting = CompletableFuture.supplyAsync(() -> {
+                TestUsers.signIn(user);
+                try {
+                    return post(cash, null, person, "0.25", TransactionType.GIVEN, "2026-03-15");
+                } finally {
+                    TestUsers.signOut();
+                }
+            });
+            assertThat(posting).as("posting must wait for the rebuild to commit")
+                    .failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(TimeoutException.class);
+            return posting;
+        });
+
+        concurrentPosting.get(30, TimeUnit.SECONDS);
+        assertRollupsMatchLog();
+    }
+
+    /**
+     * January: income 1000, transfer 300, expenses 40 + 15.50, given 5. February: income 200, given 25,
+     * received 10. The reversed 99.00 expense and its reversal appear nowhere.
+     */
+    private static void assertExpectedSummary(SummaryResponse summary) {
+        assertSameAmounts(summary.totals(), totals("1200.00", "55.50", "10.00", "30.00", "300.00", 8));
+        assertThat(summary.months()).extracting(MonthlySummary::month).containsExactly(JANUARY, FEBRUARY);
+        assertSameAmounts(summary.months().get(0).totals(), totals("1000.00", "55.50", "0", "5.00", "300.00", 5));
+        assertSameAmounts(summary.months().get(1).totals(), totals("200.00", "0", "10.00", "25.00", "0", 3));
+        assertThat(summary.people()).singleElement().satisfies(p -> {
+            assertThat(p.received()).isEqualByComparingTo("10.00");
+            assertThat(p.given()).isEqualByComparingTo("30.00");
+            assertThat(p.net()).isEqualByComparingTo("-20.00");
+            assertThat(p.transactionCount()).isEqualTo(3);
+        });
+    }
+
+    /**
+     * Field by field, with amounts compared by value: an empty month sums to a plain zero, not 0.00.
+     */
+    private static void assertSameAmounts(Object actual, Object expected) {
+        assertThat(actual).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+    }
+
+    private static SummaryTotals totals(String income, String expense, String received, String given,
+                                        String transferred, long count) {
+        return new SummaryTotals(money(income), money(expense), money(received), money(given), money(transferred),
+                count);
+    }
+
+    /**
+     * Recomputes both rollups in Java from the user's effective postings, using the V7 rules: the to leg adds
+     * inflow, the from leg outflow, and each posting is counted once (on its from leg when it has one).
+     * All-zero rows are left behind by reversals and mean the same as no row.
+     */
+    private void assertRollupsMatchLog() {
+        Map<String, String> walletLog = new TreeMap<>();
+        Map<String, String> personLog = new TreeMap<>();
+        Map<String, BigDecimal[]> wallets = new TreeMap<>();
+        Map<String, BigDecimal[]> people = new TreeMap<>();
+        jdbc.query("""
+                select date, from_wallet_id, to_wallet_id, person_id, transaction_type, amount
+                from transaction_history
+                where user_id = ? and not is_reversal and reversed_by_id is null
+                """, rs -> {
+            YearMonth month = YearMonth.from(rs.getTimestamp("date").toInstant().atOffset(ZoneOffset.UTC));
+            String type = rs.getString("transaction_type");
+            BigDecimal amount = rs.getBigDecimal("amount");
+            Long from = (Long) rs.getObject("from_wallet_id");
+            Long to = (Long) rs.getObject("to_wallet_id");
+            Long personId = (Long) rs.getObject("person_id");
+            if (to != null) {
+                add(wallets, month + " " + to + " " + type, amount, BigDecimal.ZERO, from == null ? 1 : 0);
+            }
+            if (from != null) {
+                add(wallets, month + " " + from + " " + type, BigDecimal.ZERO, amount, 1);
+            }
+            if (personId != null) {
+                boolean received = type.equals(TransactionType.RECEIVED.name());
+                add(people, month + " " + personId, received ? amount : BigDecimal.ZERO,
+                        received ? BigDecimal.ZERO : amount, 1);
+            }
+        }, user.getId());
+        wallets.forEach((key, v) -> walletLog.put(key, row(v[0], v[1], v[2])));
+        people.forEach((key, v) -> personLog.put(key, row(v[0], v[1], v[2])));
+
+        Map<String, String> walletRollup = new TreeMap<>();
+        jdbc.query("""
+                select month, wallet_id, transaction_type, inflow, outflow, tx_count
+                from wallet_monthly_totals
+                where user_id = ? and (inflow <> 0 or outflow <> 0 or tx_count <> 0)
+                """, rs -> {
+            walletRollup.put(YearMonth.from(rs.getDate("month").toLocalDate()) + " " + rs.getLong("wallet_id")
+                            + " " + rs.getString("transaction_type"),
+                    row(rs.getBigDecimal("inflow"), rs.getBigDecimal("outflow"), rs.getBigDecimal("tx_count")));
+        }, user.getId());
+        Map<String, String> personRollup = new TreeMap<>();
+        jdbc.query("""
+                select month, person_id, received, given, tx_count
+                from person_monthly_totals
+                where user_id = ? and (received <> 0 or given <> 0 or tx_count <> 0)
+                """, rs -> {
+            personRollup.put(YearMonth.from(rs.getDate("month").toLocalDate()) + " " + rs.getLong("person_id"),
+                    row(rs.getBigDecimal("received"), rs.getBigDecimal("given"), rs.getBigDecimal("tx_count")));
+        }, user.getId());
+
+        assertThat(walletRollup).isEqualTo(walletLog);
+        assertThat(personRollup).isEqualTo(personLog);
+    }
+
+    private static void add(Map<String, BigDecimal[]> totals, String key, BigDecimal first, BigDecimal second,
+                            long count) {
+        BigDecimal[] row = totals.computeIfAbsent(key,
+                k -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+        row[0] = row[0].add(first);
+        row[1] = row[1].add(second);
+        row[2] = row[2].add(BigDecimal.valueOf(count));
+    }
+
+    private static String row(BigDecimal first, BigDecimal second, BigDecimal count) {
+        return money(first.toPlainString()).toPlainString() + " / " + money(second.toPlainString()).toPlainString()
+                + " / " + count.toBigInteger();
+    }
+
+    private static BigDecimal money(String amount) {
+        return new BigDecimal(amount).setScale(2);
+    }
+
+    private Long post(Long from, Long to, Long personId, String amount, TransactionType type, String date) {
+        CreateTransactionRequest request = request(from, to, personId, amount, type, date);
+        return conflictRetry.execute(() -> transactionService.createTransaction(request)).id();
+    }
+
+    private static CreateTransactionRequest request(Long from, Long to, Long personId, String amount,
+                                                    TransactionType type, String date) {
+        return new CreateTransactionRequest(personId, from, to, new BigDecimal(amount), type, null,
+                Instant.parse(date + "T12:00:00Z"));
+    }
+}
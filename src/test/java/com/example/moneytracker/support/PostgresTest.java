@@ -0,0 +1,24 @@
+package com.example.moneytracker.support;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context on the shared PostgreSQL from {@link TestDatabase}, migrated by Flyway.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@ContextConfiguration(initializers = TestDatabase.class)
+@EnabledIf(value = "com.example.moneytracker.support.TestDatabase#available",
+        disabledReason = "needs Docker or TEST_DATABASE_URL")
+public @interface PostgresTest {
+}
@@ -0,0 +1,66 @@
+package com.example.moneytracker.support;
+
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The PostgreSQL instance behind {@link PostgresTest}: {@code TEST_DATABASE_URL} (with
+ * {@code TEST_DATABASE_USERNAME} / {@code TEST_DATABASE_PASSWORD}) when set, otherwise one container
+ * started on first use and shared by every test context in the run.
+ * <p>
+ * Tests share the database and never clean up, so each one creates its own users and only looks at their rows.
+ */
+public class TestDatabase implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    public static final String IMAGE = "postgres:16-alpine";
+
+    private static final String EXTERNAL_URL = System.getenv("TEST_DATABASE_URL");
+
+    private static PostgreSQLContainer<?> container;
+
+    /**
+     * Condition for {@link PostgresTest}; without Docker or an external database the tests are skipped.
+     */
+    public static boolean available() {
+        return StringUtils.hasText(EXTERNAL_URL) || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        TestPropertyValues.of(
+                "spring.datasource.url=" + url(),
+                "spring.datasource.username=" + username(),
+                "spring.datasource.password=" + password()
+        ).applyTo(context);
+    }
+
+    public static String url() {
+        return StringUtils.hasText(EXTERNAL_URL) ? EXTERNAL_URL : container().getJdbcUrl();
+    }
+
+    public static String username() {
+        return StringUtils.hasText(EXTERNAL_URL) ? env("TEST_DATABASE_USERNAME", "postgres") : container().getUsername();
+    }
+
+    public static String password() {
+        return StringUtils.hasText(EXTERNAL_URL) ? env("TEST_DATABASE_PASSWORD", "") : container().getPassword();
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            // Stopped by the Testcontainers reaper when the JVM exits
+            container = new PostgreSQLContainer<>(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+}
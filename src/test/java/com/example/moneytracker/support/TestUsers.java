@@ -0,0 +1,35 @@
+package com.example.moneytracker.support;
+
+import com.example.moneytracker.security.UserPrincipal;
+import com.example.moneytracker.user.User;
+import com.example.moneytracker.user.UserRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+/**
+ * Throwaway accounts for service-level tests, which read the caller from the security context.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User create(UserRepository userRepository) {
+        return userRepository.save(new User(null, "test-" + UUID.randomUUID() + "@test.local", "unused", null));
+    }
+
+    /**
+     * Makes {@code user} the caller on the current thread, as {@code JwtAuthenticationFilter} would.
+     */
+    public static void signIn(User user) {
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    public static void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import com.example.moneytracker.user.User;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rows in {@code ledger_archive.transactions} are reversed like live ones: the reversal is posted in the live
+ * table and the archived original is marked in place.
+ */
+@PostgresTest
+class ArchivedReversalTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Long cash;
+
+    @BeforeEach
+    void signIn() {
+        user = TestUsers.create(userRepository);
+        TestUsers.signIn(user);
+        cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        transactionService.createTransaction(new CreateTransactionRequest(null, null, cash,
+                new BigDecimal("100.00"), TransactionType.INCOME, null, null));
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void reversesAnArchivedExpense() {
+        long archivedId = archivedExpense("30.00");
+
+        TransactionResponse reversal = transactionService.reverseTransaction(archivedId);
+
+        assertThat(reversal.transactionType()).isEqualTo(TransactionType.INCOME);
+        assertThat(reversal.toWalletId()).isEqualTo(cash);
+        assertThat(walletService.getBalance().cash()).isEqualByComparingTo("130.00");
+        assertThat(jdbc.queryForObject("select reversed_by_id from ledger_archive.transactions where id = ?",
+                Long.class, archivedId)).isEqualTo(reversal.id());
+
+        assertThatThrownBy(() -> transactionService.reverseTransaction(archivedId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already reversed");
+        assertThat(walletService.getBalance().cash()).isEqualByComparingTo("130.00");
+    }
+
+    /**
+     * Stands in for an archived year: a 1990 partition under the archive, as TransactionPartitions attaches them.
+     */
+    private long archivedExpense(String amount) {
+        jdbc.execute("""
+                create table if not exists ledger_archive.transactions_y1990
+                    partition of ledger_archive.transactions
+                    for values from ('1990-01-01 00:00:00+00') to ('1991-01-01 00:00:00+00')
+                """);
+        return jdbc.queryForObject("""
+                insert into ledger_archive.transactions
+                    (id, user_id, from_wallet_id, amount, description, transaction_type, date, created_at, is_reversal)
+                values (nextval('transactions_id_seq'), ?, ?, ?, 'Archived rent', 'EXPENSE',
+                        '1990-06-15 12:00:00+00', '1990-06-15 12:00:00+00', false)
+                returning id
+                """, Long.class, user.getId(), cash, new BigDecimal(amount));
+    }
+}
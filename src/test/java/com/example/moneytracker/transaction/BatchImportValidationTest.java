@@ -0,0 +1,94 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.BatchImportResponse;
+import com.example.moneytracker.transaction.dto.BatchRowResult;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresTest
+class BatchImportValidationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionCsvReader csvReader;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long cash;
+
+    @BeforeEach
+    void signIn() {
+        TestUsers.signIn(TestUsers.create(userRepository));
+        cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void rejectsSubCentAmountsPerRowAndWritesNothing() {
+        BatchImportResponse response = transactionService.importTransactions(List.of(
+                income("0.005", null),
+                income("1.00", null),
+                income("0.001", "x".repeat(256))));
+
+        assertThat(response.accepted()).isFalse();
+        assertThat(response.rows()).extracting(BatchRowResult::row).containsExactly(0, 2);
+        assertThat(response.rows().get(0).error()).startsWith("amount: ");
+        assertThat(response.rows().get(1).error()).contains("amount: ", "description: ");
+        assertThat(walletService.getBalance().cash()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void validatesCsvRowsTheSameWay() {
+        String csv = """
+                transactionType,amount,toWalletId
+                INCOME,0.005,%1$d
+                INCOME,0.005,%1$d
+                INCOME,0.005,%1$d
+                """.formatted(cash);
+        List<CreateTransactionRequest> rows = csvReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        BatchImportResponse response = transactionService.importTransactions(rows);
+
+        assertThat(response.accepted()).isFalse();
+        assertThat(response.rows()).hasSize(3).allSatisfy(row -> assertThat(row.status()).isEqualTo("INVALID"));
+        assertThat(walletService.getBalance().cash()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void importsValidRowsWithExactWalletTotals() {
+        BatchImportResponse response = transactionService.importTransactions(List.of(
+                income("0.01", null), income("0.01", null), income("0.01", "Tip")));
+
+        assertThat(response.accepted()).isTrue();
+        assertThat(walletService.getBalance().cash()).isEqualByComparingTo("0.03");
+    }
+
+    private CreateTransactionRequest income(String amount, String description) {
+        return new CreateTransactionRequest(null, null, cash, new BigDecimal(amount), TransactionType.INCOME,
+                description, null);
+    }
+}
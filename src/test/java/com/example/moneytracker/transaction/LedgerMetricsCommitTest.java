@@ -0,0 +1,85 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code ledger.transactions.create} counts a posting by how its transaction ended, not by whether the
+ * service method returned.
+ */
+@PostgresTest
+class LedgerMetricsCommitTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CreateTransactionRequest income;
+
+    @BeforeEach
+    void signIn() {
+        TestUsers.signIn(TestUsers.create(userRepository));
+        Long cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        income = new CreateTransactionRequest(null, null, cash, new BigDecimal("4.00"), TransactionType.INCOME,
+                null, null);
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void successIsRecordedOnlyAfterCommit() {
+        long successes = count("success");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionService.createTransaction(income);
+            assertThat(count("success")).isEqualTo(successes);
+        });
+        assertThat(count("success")).isEqualTo(successes + 1);
+    }
+
+    @Test
+    void postingRolledBackAfterReturningIsAFailure() {
+        long successes = count("success");
+        long failures = count("failure");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionService.createTransaction(income);
+            status.setRollbackOnly();
+        });
+        assertThat(count("success")).isEqualTo(successes);
+        assertThat(count("failure")).isEqualTo(failures + 1);
+    }
+
+    private long count(String outcome) {
+        Timer timer = meterRegistry.find("ledger.transactions.create")
+                .tags("type", "INCOME", "outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
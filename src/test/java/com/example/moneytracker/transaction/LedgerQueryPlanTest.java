@@ -0,0 +1,295 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.person.PersonService;
+import com.example.moneytracker.person.dto.PersonSummaryResponse;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.TransactionPage;
+import com.example.moneytracker.user.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs every SELECT the ledger read paths send, with the exact SQL and bound values, against a few thousand
+ * users of data, and fails if any of them reads a ledger table with a sequential scan (a missing or unusable index).
+ */
+@PostgresTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerQueryPlanTest {
+
+    private static final int USERS = 2_000;
+    private static final int TRANSACTIONS_PER_USER = 50;
+    private static final List<String> INDEXED_TABLES = List.of("transactions", "people", "person_balances");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private StatementCapture capture;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private PersonService personService;
+
+    private User caller;
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+
+    @BeforeAll
+    void loadLedger() {
+        String run = UUID.randomUUID().toString();
+        jdbc.update("""
+                insert into users (email, password_hash, created_at)
+                select 'plan-' || ? || '-' || g || '@test.local', 'unused', now() from generate_series(1, ?) g
+                """, run, USERS);
+        String users = "select id from users where email like 'plan-" + run + "-%'";
+        jdbc.update("insert into wallets (user_id, type, balance, created_at) "
+                + "select u.id, w.type, 0, now() from (" + users + ") u cross join (values ('CASH'), ('ONLINE')) w (type)");
+        jdbc.update("insert into people (user_id, name, created_at) "
+                + "select u.id, 'Person ' || g, now() from (" + users + ") u cross join generate_series(1, 5) g");
+        jdbc.update("insert into person_balances (person_id, user_id) "
+                + "select p.id, p.user_id from people p where p.user_id in (" + users + ")");
+        jdbc.update("""
+                insert into transactions (user_id, person_id, from_wallet_id, to_wallet_id, amount, description,
+                                          transaction_type, date, created_at, is_reversal)
+                select u.id,
+                       case when mod(g, 5) in (3, 4) then p.id end,
+                       case when mod(g, 5) in (0, 2, 4) then cash.id end,
+                       case when mod(g, 5) in (1, 2, 3) then online.id end,
+                       10 + g,
+                       (array ['Groceries', 'Salary', 'Savings', 'Repayment', 'Loan'])[1 + mod(g, 5)],
+                       (array ['EXPENSE', 'INCOME', 'TRANSFER', 'RECEIVED', 'GIVEN'])[1 + mod(g, 5)],
+                       now() - make_interval(mins => g * 97),
+                       now() - make_interval(mins => g * 97),
+                       false
+                from (%s) u
+                         join wallets cash on cash.user_id = u.id and cash.type = 'CASH'
+                         join wallets online on online.user_id = u.id and online.type = 'ONLINE'
+                         join people p on p.user_id = u.id and p.name = 'Person 1'
+                         cross join generate_series(1, ?) g
+                """.formatted(users), TRANSACTIONS_PER_USER);
+        jdbc.execute("analyze users, wallets, people, person_balances, transactions");
+
+        caller = new User();
+        caller.setId(jdbc.queryForObject(users + " order by id limit 1", Long.class));
+        caller.setEmail("plan-" + run + "-1@test.local");
+    }
+
+    @BeforeEach
+    void signIn() {
+        TestUsers.signIn(caller);
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void listingQueriesUseIndexes() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<Captured> statements = capture.during(() -> {
+            TransactionPage first = transactionService.listTransactions(null, null, null, null, null, 20);
+            transactionService.listTransactions(null, null, null, null, first.nextCursor(), 20);
+            transactionService.listTransactions(WalletType.CASH, null, null, null, null, 20);
+            transactionService.listTransactions(null, TransactionType.EXPENSE, today.minusDays(2), today, null, 20);
+            transactionService.streamTransactions(null, TransactionType.RECEIVED, null, null, row -> {
+            });
+        });
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void searchQueriesUseIndexes() {
+        assertIndexedPlans(capture.during(() -> transactionService.searchTransactions("groceries person", null, 20)));
+    }
+
+    @Test
+    void personQueriesUseIndexes() {
+        List<Captured> statements = capture.during(() -> {
+            List<PersonSummaryResponse> people = personService.listPeople();
+            personService.getPerson(people.get(0).id());
+        });
+        assertIndexedPlans(statements);
+    }
+
+    private void assertIndexedPlans(List<Captured> statements) {
+        assertThat(statements).as("captured SELECT statements").isNotEmpty();
+        List<String> failures = new ArrayList<>();
+        for (Captured statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> scanned = new ArrayList<>();
+            collectSequentialScans(plan, scanned);
+            if (!scanned.isEmpty()) {
+                failures.add("Sequential scan on " + scanned + " for:\n" + statement.sql() + "\n" + plan.toPrettyString());
+            }
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    private JsonNode explain(Captured statement) {
+        return jdbc.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain (format json) " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    binding.applyTo(explain);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return new ObjectMapper().readTree(rs.getString(1)).get(0).get("Plan");
+                } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Small tables and partitions with no rows are legitimately scanned; only populated ledger tables count.
+     */
+    private void collectSequentialScans(JsonNode node, List<String> scanned) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            boolean ledgerTable = INDEXED_TABLES.stream()
+                    .anyMatch(table -> relation.equals(table) || relation.startsWith(table + "_"));
+            if (ledgerTable) {
+                Double rows = jdbc.queryForObject("select reltuples::float8 from pg_class where relname = ?",
+                        Double.class, relation);
+                if (rows != null && rows > 0) {
+                    scanned.add(relation);
+                }
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scanned);
+        }
+    }
+
+    record Captured(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * A {@code PreparedStatement.setXxx(index, value, ...)} call, replayed onto the EXPLAIN statement.
+     */
+    record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sql) {
+                    throw sql;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Wraps the application DataSource and records SELECTs prepared while {@link #during} runs.
+     */
+    static class StatementCapture implements BeanPostProcessor {
+
+        private final List<Captured> captured = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        List<Captured> during(Runnable work) {
+            captured.clear();
+            recording = true;
+            try {
+                work.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(captured);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return wrap(super.getConnection());
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (recording && result instanceof PreparedStatement statement
+                                && method.getName().equals("prepareStatement")) {
+                            String sql = ((String) args[0]).strip();
+                            String head = sql.substring(0, Math.min(6, sql.length())).toLowerCase();
+                            if (head.startsWith("select") || head.startsWith("with")) {
+                                return capture(statement, sql);
+                            }
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement capture(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            captured.add(new Captured(sql, bindings));
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer) {
+                            bindings.add(new Binding(method, args.clone()));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.transaction.dto.TransactionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionColumnarConverterTest {
+
+    @Test
+    void roundTripsAPageInListingOrder() throws IOException {
+        // Newest first, as listings return them: ids and dates step backwards
+        List<TransactionResponse> page = List.of(
+                row(9_000_000_123L, 7L, 3L, null, "250.00", TransactionType.GIVEN, "Dinner at Café Zoë ☕",
+                        "2026-03-01T18:30:00.123456Z", "2026-03-01T18:30:01Z"),
+                row(9_000_000_120L, null, null, 4L, "0.01", TransactionType.INCOME, null,
+                        "2026-02-28T09:00:00Z", "2026-02-28T09:00:00Z"),
+                row(41L, null, 3L, 4L, "99999999.99", TransactionType.TRANSFER, "東京 taxi 🚕",
+                        "2024-12-31T23:59:59.999999Z", "2025-01-02T00:00:00Z"),
+                row(40L, 7L, null, 3L, "12.50", TransactionType.RECEIVED, "",
+                        "1969-07-20T20:17:40Z", "2024-01-01T00:00:00Z"),
+                row(2L, null, 3L, null, "1.00", TransactionType.EXPENSE, "backdated",
+                        "2024-06-01T00:00:00Z", "2024-05-01T00:00:00Z"));
+
+        assertThat(roundTrip(page)).containsExactlyElementsOf(page);
+    }
+
+    @Test
+    void roundTripsAnEmptyPage() throws IOException {
+        assertThat(roundTrip(List.of())).isEmpty();
+    }
+
+    @Test
+    void rejectsATruncatedPayload() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransactionColumnarConverter.encode(List.of(row(1L, null, 3L, null, "1.00", TransactionType.EXPENSE,
+                "Rent", "2026-01-01T00:00:00Z", "2026-01-01T00:00:00Z")), out);
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 2);
+
+        assertThatThrownBy(() -> TransactionColumnarConverter.decode(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(EOFException.class);
+    }
+
+    private static List<TransactionResponse> roundTrip(List<TransactionResponse> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransactionColumnarConverter.encode(rows, out);
+        return TransactionColumnarConverter.decode(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static TransactionResponse row(Long id, Long personId, Long fromWalletId, Long toWalletId, String amount,
+                                           TransactionType type, String description, String date, String createdAt) {
+        return new TransactionResponse(id, personId, fromWalletId, toWalletId, new BigDecimal(amount), type,
+                description, Instant.parse(date), Instant.parse(createdAt));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresTest
+class TransactionExportTest {
+
+    @Autowired
+    private TransactionExporter exporter;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void signIn() {
+        TestUsers.signIn(TestUsers.create(userRepository));
+        Long cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        for (String description : new String[]{"=HYPERLINK(\"http://x\")", "+1", "-5 refund", "@SUM(A1)", "Rent"}) {
+            transactionService.createTransaction(new CreateTransactionRequest(null, null, cash, BigDecimal.ONE,
+                    TransactionType.INCOME, description, null));
+        }
+    }
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void csvCellsCannotStartAFormula() throws IOException {
+        String csv = export(ExportFormat.CSV);
+
+        assertThat(csv).contains("\"'=HYPERLINK(\"\"http://x\"\")\"", "\"'+1\"", "\"'-5 refund\"",
+                "\"'@SUM(A1)\"", ",Rent,");
+        assertThat(csv.lines().skip(1)).hasSize(5)
+                .allSatisfy(line -> assertThat(line).doesNotContain(",=", ",+", ",-5", ",@"));
+    }
+
+    @Test
+    void ndjsonKeepsDescriptionsVerbatim() throws IOException {
+        String ndjson = export(ExportFormat.NDJSON);
+
+        assertThat(ndjson).contains("\"description\":\"-5 refund\"", "\"description\":\"@SUM(A1)\"");
+        assertThat(ndjson.lines()).hasSize(5);
+    }
+
+    @Test
+    void formulaSafePrefixesOnlyDangerousLeadingCharacters() {
+        assertThat(TransactionExporter.formulaSafe("=1+1")).isEqualTo("'=1+1");
+        assertThat(TransactionExporter.formulaSafe("\tx")).isEqualTo("'\tx");
+        assertThat(TransactionExporter.formulaSafe("a=1")).isEqualTo("a=1");
+        assertThat(TransactionExporter.formulaSafe("")).isEmpty();
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(format, null, null, null, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
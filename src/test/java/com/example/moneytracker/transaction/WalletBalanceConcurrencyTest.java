@@ -0,0 +1,149 @@
+package com.example.moneytracker.transaction;
+
+import com.example.moneytracker.config.ConflictRetry;
+import com.example.moneytracker.model.TransactionType;
+import com.example.moneytracker.model.WalletType;
+import com.example.moneytracker.support.PostgresTest;
+import com.example.moneytracker.support.TestUsers;
+import com.example.moneytracker.transaction.dto.CreateTransactionRequest;
+import com.example.moneytracker.user.User;
+import com.example.moneytracker.user.UserRepository;
+import com.example.moneytracker.wallet.WalletService;
+import com.example.moneytracker.wallet.dto.CreateWalletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of writers hammer one user's two wallets at once. Whatever interleaving the database picks,
+ * each stored balance must equal what the transaction log says it should be, to the cent.
+ * <p>
+ * Writers queue for the ten pooled connections far longer than the production timeout allows; that would be a 503
+ * for an HTTP client, so the wait is lengthened here to keep the test about row contention.
+ */
+@PostgresTest
+@TestPropertySource(properties = "spring.datasource.hikari.connection-timeout=120000")
+class WalletBalanceConcurrencyTest {
+
+    private static final int WRITERS = 200;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ConflictRetry conflictRetry;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void signOut() {
+        TestUsers.signOut();
+    }
+
+    @Test
+    void balancesMatchTheLogUnderConcurrentWriters() throws Exception {
+        User user = TestUsers.create(userRepository);
+        TestUsers.signIn(user);
+        Long cash = walletService.createWallet(new CreateWalletRequest(WalletType.CASH)).id();
+        Long online = walletService.createWallet(new CreateWalletRequest(WalletType.ONLINE)).id();
+        // Enough float that no expense or transfer can be refused for funds
+        transactionService.createTransaction(request(null, cash, "100000.00", TransactionType.INCOME));
+        Long contested = transactionService.createTransaction(request(cash, null, "7.00", TransactionType.EXPENSE)).id();
+
+        AtomicInteger reversals = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        List<Future<Void>> writers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(pool.submit(writer(user, start, cash, online, contested, reversals)));
+            }
+            start.countDown();
+            for (Future<Void> writer : writers) {
+                writer.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 100000.00 - 7.00, reversed once (+7.00), then per round +3.00 income, -1.00 expense, -0.50 transfer out
+        assertThat(reversals).hasValue(1);
+        assertThat(balance(cash)).isEqualByComparingTo(new BigDecimal("100000.00")
+                .add(new BigDecimal("1.50").multiply(BigDecimal.valueOf((long) WRITERS * ROUNDS))));
+        assertThat(balance(online)).isEqualByComparingTo(
+                new BigDecimal("0.50").multiply(BigDecimal.valueOf((long) WRITERS * ROUNDS)));
+        assertThat(balance(cash)).isEqualByComparingTo(loggedBalance(cash));
+        assertThat(balance(online)).isEqualByComparingTo(loggedBalance(online));
+    }
+
+    private Callable<Void> writer(User user, CountDownLatch start, Long cash, Long online,
+                                  Long contested, AtomicInteger reversals) {
+        return () -> {
+            TestUsers.signIn(user);
+            start.await();
+            try {
+                tryReverse(contested, reversals);
+                for (int round = 0; round < ROUNDS; round++) {
+                    create(request(null, cash, "3.00", TransactionType.INCOME));
+                    create(request(cash, null, "1.00", TransactionType.EXPENSE));
+                    create(request(cash, online, "0.50", TransactionType.TRANSFER));
+                }
+            } finally {
+                TestUsers.signOut();
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Every writer races to reverse the same transaction; exactly one may win.
+     */
+    private void tryReverse(Long transactionId, AtomicInteger reversals) {
+        try {
+            conflictRetry.execute(() -> transactionService.reverseTransaction(transactionId));
+            reversals.incrementAndGet();
+        } catch (IllegalArgumentException alreadyReversed) {
+            // Expected for every writer but one
+        }
+    }
+
+    private void create(CreateTransactionRequest request) {
+        conflictRetry.execute(() -> transactionService.createTransaction(request));
+    }
+
+    private BigDecimal balance(Long walletId) {
+        return jdbc.queryForObject("select balance from wallets where id = ?", BigDecimal.class, walletId);
+    }
+
+    private BigDecimal loggedBalance(Long walletId) {
+        return jdbc.queryForObject("""
+                select coalesce(sum(case when to_wallet_id = ? then amount else 0 end), 0)
+                     - coalesce(sum(case when from_wallet_id = ? then amount else 0 end), 0)
+                from transactions
+                where to_wallet_id = ? or from_wallet_id = ?
+                """, BigDecimal.class, walletId, walletId, walletId, walletId);
+    }
+
+    private static CreateTransactionRequest request(Long from, Long to, String amount, TransactionType type) {
+        return new CreateTransactionRequest(null, from, to, new BigDecimal(amount), type, null, null);
+    }
+}